@@ -1,5 +1,7 @@
 package com.alibaba.android.arouter.facade.annotation;
 
+import com.alibaba.android.arouter.facade.enums.RouteType;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -27,4 +29,29 @@ public @interface Interceptor {
      * 拦截器的名称，可以用来生成javadoc。
      */
     String name() default "Default";
+
+    /**
+     * Scope of interceptor, prefixes of path, like '/user/', the interceptor only processes the matched routes.
+     * Every scope which is not empty must be matched, empty means all.
+     * 拦截器作用的路径前缀，所有非空的范围都匹配时才执行拦截器，为空表示不限制
+     */
+    String[] paths() default {};
+
+    /**
+     * Scope of interceptor, groups of route.
+     * 拦截器作用的分组
+     */
+    String[] groups() default {};
+
+    /**
+     * Scope of interceptor, types of route.
+     * 拦截器作用的路由类型
+     */
+    RouteType[] types() default {};
+
+    /**
+     * Scope of interceptor, the route matches if any bit of its extra is in this mask, 0 means all.
+     * 拦截器作用的 extra 掩码，路由的 extra 与之有交集时匹配，为 0 表示不限制
+     */
+    int extras() default 0;
 }
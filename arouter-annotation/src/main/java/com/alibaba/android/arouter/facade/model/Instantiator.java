@@ -0,0 +1,17 @@
+package com.alibaba.android.arouter.facade.model;
+
+/**
+ * Create the destinations by constructor, implemented by the classes generated by arouter-compiler, without reflection.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface Instantiator {
+    /**
+     * Create the destination.
+     *
+     * @param id id of destination in this instantiator, the priority for interceptors
+     * @return new instance, or null if the id is unknown
+     */
+    Object newInstance(int id);
+}
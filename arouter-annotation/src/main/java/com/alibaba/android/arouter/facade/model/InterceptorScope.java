@@ -0,0 +1,111 @@
+package com.alibaba.android.arouter.facade.model;
+
+import com.alibaba.android.arouter.facade.enums.RouteType;
+
+/**
+ * Scope of interceptor, declared by @Interceptor and indexed at compile time.
+ * Every part which is not empty must be matched.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public class InterceptorScope {
+    private final String[] paths;     // Prefixes of path
+    private final String[] groups;    // Groups
+    private final RouteType[] types;  // Types of route
+    private final int extras;         // Mask of extra
+
+    private InterceptorScope(String[] paths, String[] groups, RouteType[] types, int extras) {
+        this.paths = null == paths ? new String[0] : paths;
+        this.groups = null == groups ? new String[0] : groups;
+        this.types = null == types ? new RouteType[0] : types;
+        this.extras = extras;
+    }
+
+    /**
+     * For versions of 'compiler' greater than 1.5.2
+     *
+     * @param paths  prefixes of path, maybe null
+     * @param groups groups, maybe null
+     * @param types  types of route, maybe null
+     * @param extras mask of extra, 0 means all
+     * @return scope
+     */
+    public static InterceptorScope build(String[] paths, String[] groups, RouteType[] types, int extras) {
+        return new InterceptorScope(paths, groups, types, extras);
+    }
+
+    /**
+     * The routes of group maybe matched.
+     */
+    public boolean matchesGroup(String group) {
+        if (groups.length == 0) {
+            return true;
+        }
+
+        for (String scopeGroup : groups) {
+            if (scopeGroup.equals(group)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether it's scoped by the parts of route, except group.
+     */
+    public boolean isRouteScoped() {
+        return paths.length > 0 || types.length > 0 || extras != 0;
+    }
+
+    /**
+     * The route is matched, group is not checked.
+     */
+    public boolean matchesRoute(String path, RouteType type, int extra) {
+        if (extras != 0 && (extras & extra) == 0) {
+            return false;
+        }
+
+        if (types.length > 0) {
+            boolean matched = false;
+            for (RouteType scopeType : types) {
+                if (scopeType == type) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+
+        if (paths.length > 0) {
+            if (null == path) {
+                return false;
+            }
+            for (String prefix : paths) {
+                if (path.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    public String[] getPaths() {
+        return paths;
+    }
+
+    public String[] getGroups() {
+        return groups;
+    }
+
+    public RouteType[] getTypes() {
+        return types;
+    }
+
+    public int getExtras() {
+        return extras;
+    }
+}
@@ -4,6 +4,8 @@ import com.alibaba.android.arouter.facade.annotation.Autowired;
 import com.alibaba.android.arouter.facade.annotation.Route;
 import com.alibaba.android.arouter.facade.enums.RouteType;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import javax.lang.model.element.Element;
@@ -26,8 +28,14 @@ public class RouteMeta {
     private int extra;              // Extra data
     // 目标页面，需要从Intent获取的值，key为从Intent中获取内容的key，value为值的类型
     private Map<String, Integer> paramsType;  // Param type
+    // 紧凑形式的参数，名称和类型（TypeKind 的序号）一一对应，运行时加载的路由使用这种形式
+    private String[] paramNames;    // Names of params
+    private byte[] paramTypes;      // Types of params, ordinal of TypeKind
     // 目前没用到
     private String name;
+    // 由 arouter-compiler 生成的构造代码，为空时通过反射创建
+    private Instantiator instantiator;  // Create the destination without reflection
+    private int instantiatorId;         // Id of destination in instantiator
 
     private Map<String, Autowired> injectConfig;  // Cache inject config.
 
@@ -62,7 +70,47 @@ public class RouteMeta {
      * @return this
      */
     public static RouteMeta build(RouteType type, Class<?> destination, String path, String group, Map<String, Integer> paramsType, int priority, int extra) {
-        return new RouteMeta(type, null, destination, null, path, group, paramsType, priority, extra);
+        RouteMeta routeMeta = new RouteMeta(type, null, destination, null, path, group, null, priority, extra);
+        if (null != paramsType && !paramsType.isEmpty()) {
+            // Keep params in compact form, the map is dropped.
+            String[] paramNames = new String[paramsType.size()];
+            byte[] paramTypes = new byte[paramsType.size()];
+            int index = 0;
+            for (Map.Entry<String, Integer> param : paramsType.entrySet()) {
+                paramNames[index] = param.getKey();
+                paramTypes[index] = param.getValue().byteValue();
+                index++;
+            }
+            routeMeta.paramNames = paramNames;
+            routeMeta.paramTypes = paramTypes;
+        }
+        return routeMeta;
+    }
+
+    /**
+     * For versions of 'compiler' greater than 1.5.2, params are stored in parallel arrays.
+     *
+     * @param type        type
+     * @param destination destination
+     * @param path        path
+     * @param group       group
+     * @param paramNames  names of params, maybe null
+     * @param paramTypes  types of params, ordinal of TypeKind, same length as paramNames
+     * @param priority    priority
+     * @param extra       extra
+     * @return this
+     */
+    public static RouteMeta build(RouteType type, Class<?> destination, String path, String group, String[] paramNames, byte[] paramTypes, int priority, int extra) {
+        if (null != paramNames && (null == paramTypes || paramNames.length != paramTypes.length)) {
+            throw new IllegalArgumentException("Params of route [" + path + "] mismatch.");
+        }
+
+        RouteMeta routeMeta = new RouteMeta(type, null, destination, null, path, group, null, priority, extra);
+        if (null != paramNames && paramNames.length > 0) {
+            routeMeta.paramNames = paramNames;
+            routeMeta.paramTypes = paramTypes;
+        }
+        return routeMeta;
     }
 
     /**
@@ -112,15 +160,60 @@ public class RouteMeta {
         this.extra = extra;
     }
 
+    /**
+     * Params as map. If params are stored in compact form, the map is created once when it's first used,
+     * and it's unmodifiable, because the params are still read from the compact form,
+     * use {@link #setParamsType(Map)} to change them.
+     * Use {@link #getParamNames()} and {@link #getParamTypes()} in hot path.
+     */
     public Map<String, Integer> getParamsType() {
+        if (null == paramsType && null != paramNames) {
+            Map<String, Integer> params = new HashMap<>((int) (paramNames.length / .75f) + 1);
+            for (int i = 0; i < paramNames.length; i++) {
+                params.put(paramNames[i], (int) paramTypes[i]);
+            }
+            // Compact form is kept, it's the source of names and types.
+            paramsType = Collections.unmodifiableMap(params);
+        }
         return paramsType;
     }
 
     public RouteMeta setParamsType(Map<String, Integer> paramsType) {
         this.paramsType = paramsType;
+        this.paramNames = null;
+        this.paramTypes = null;
         return this;
     }
 
+    /**
+     * Names of params, the type of param at same index is in {@link #getParamTypes()}.
+     *
+     * @return names, or null if no params.
+     */
+    public String[] getParamNames() {
+        if (null == paramNames && null != paramsType && !paramsType.isEmpty()) {
+            return paramsType.keySet().toArray(new String[paramsType.size()]);
+        }
+        return paramNames;
+    }
+
+    /**
+     * Types of params, ordinal of TypeKind, in the same order as {@link #getParamNames()}.
+     *
+     * @return types, or null if no params.
+     */
+    public byte[] getParamTypes() {
+        if (null == paramNames && null != paramsType && !paramsType.isEmpty()) {
+            byte[] types = new byte[paramsType.size()];
+            int index = 0;
+            for (Integer type : paramsType.values()) {
+                types[index++] = type.byteValue();
+            }
+            return types;
+        }
+        return paramTypes;
+    }
+
     public Map<String, Autowired> getInjectConfig() {
         return injectConfig;
     }
@@ -129,6 +222,37 @@ public class RouteMeta {
         this.injectConfig = injectConfig;
     }
 
+    public Instantiator getInstantiator() {
+        return instantiator;
+    }
+
+    public int getInstantiatorId() {
+        return instantiatorId;
+    }
+
+    /**
+     * For versions of 'compiler' greater than 1.5.2, the destination is created by the generated code.
+     *
+     * @param instantiator instantiator, the class which is generated
+     * @param id           id of destination in instantiator
+     * @return this
+     */
+    public RouteMeta setInstantiator(Instantiator instantiator, int id) {
+        this.instantiator = instantiator;
+        this.instantiatorId = id;
+        return this;
+    }
+
+    /**
+     * Create the destination by instantiator, or reflection if it's generated by old version of 'compiler'.
+     *
+     * @return new instance of destination
+     */
+    public Object newInstance() throws Exception {
+        Object instance = null == instantiator ? null : instantiator.newInstance(instantiatorId);
+        return null != instance ? instance : destination.getConstructor().newInstance();
+    }
+
     public Element getRawType() {
         return rawType;
     }
@@ -210,8 +334,26 @@ public class RouteMeta {
                 ", group='" + group + '\'' +
                 ", priority=" + priority +
                 ", extra=" + extra +
-                ", paramsType=" + paramsType +
+                ", paramsType=" + paramsToString() +
                 ", name='" + name + '\'' +
                 '}';
     }
+
+    /**
+     * Params like map, without creating the map of compact form.
+     */
+    private String paramsToString() {
+        if (null == paramNames) {
+            return String.valueOf(paramsType);
+        }
+
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < paramNames.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(paramNames[i]).append('=').append(paramTypes[i]);
+        }
+        return builder.append('}').toString();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.alibaba.android.arouter.base;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map for read mostly tables, readers use the published snapshot without lock,
+ * writers copy the snapshot, modify the copy, then publish it through a volatile reference.
+ * <p>
+ * Put a batch by {@link #putAll(Map)}, the snapshot will be copied only once.
+ * Views returned by this map are read only, and won't change after returned.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public class CopyOnWriteMap<K, V> implements Map<K, V> {
+    private volatile Map<K, V> snapshot = Collections.emptyMap();
+
+    /**
+     * Current immutable snapshot.
+     */
+    public Map<K, V> snapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return snapshot.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return snapshot.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return snapshot.get(key);
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        Map<K, V> copy = copyOf(snapshot, 1);
+        V previous = copy.put(key, value);
+        snapshot = Collections.unmodifiableMap(copy);
+        return previous;
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        if (!snapshot.containsKey(key)) {
+            return null;
+        }
+
+        Map<K, V> copy = copyOf(snapshot, 0);
+        V previous = copy.remove(key);
+        snapshot = Collections.unmodifiableMap(copy);
+        return previous;
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends K, ? extends V> map) {
+        if (map.isEmpty()) {
+            return;
+        }
+
+        Map<K, V> copy = copyOf(snapshot, map.size());
+        copy.putAll(map);
+        snapshot = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Remove a batch of keys, the snapshot will be copied only once.
+     */
+    public synchronized void removeAll(Collection<?> keys) {
+        Map<K, V> copy = null;
+        for (Object key : keys) {
+            if (snapshot.containsKey(key)) {
+                if (null == copy) {
+                    copy = copyOf(snapshot, 0);
+                }
+                copy.remove(key);
+            }
+        }
+
+        if (null != copy) {
+            snapshot = Collections.unmodifiableMap(copy);
+        }
+    }
+
+    /**
+     * Copy into a map presized for the entries will be put, avoid rehash.
+     */
+    private static <K, V> Map<K, V> copyOf(Map<K, V> source, int extra) {
+        Map<K, V> copy = new HashMap<>((int) ((source.size() + extra) / .75f) + 1);
+        copy.putAll(source);
+        return copy;
+    }
+
+    @Override
+    public synchronized void clear() {
+        snapshot = Collections.emptyMap();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return snapshot.keySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return snapshot.values();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return snapshot.entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || snapshot.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return snapshot.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot.toString();
+    }
+}
@@ -30,6 +30,13 @@ public class AutowiredServiceImpl implements AutowiredService {
         blackList = new ArrayList<>();
     }
 
+    /**
+     * Syringes are created again cheaply, drop them when memory is low, see {@link LogisticsCenter#trimMemory(int)}.
+     */
+    void trimMemory() {
+        classCache.evictAll();
+    }
+
     @Override
     public void autowire(Object instance) {
         doInject(instance, null);
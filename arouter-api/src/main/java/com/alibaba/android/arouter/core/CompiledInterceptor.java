@@ -0,0 +1,46 @@
+package com.alibaba.android.arouter.core;
+
+import android.content.Context;
+
+import com.alibaba.android.arouter.facade.Postcard;
+import com.alibaba.android.arouter.facade.callback.InterceptorCallback;
+import com.alibaba.android.arouter.facade.template.IInterceptor;
+import com.alibaba.android.arouter.facade.template.IInterceptorChain;
+
+/**
+ * Interceptor created by the generated chain, it's processed through the chain.
+ * <p>
+ * All of interceptors in the table are this type, so the chain is called from one call site,
+ * and every interceptor is called from its own call site in the chain.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+final class CompiledInterceptor implements IInterceptor {
+    private final IInterceptorChain chain;
+    private final int index;
+    private final IInterceptor target;
+
+    CompiledInterceptor(IInterceptorChain chain, int index, IInterceptor target) {
+        this.chain = chain;
+        this.index = index;
+        this.target = target;
+    }
+
+    /**
+     * The interceptor itself, for checking its type.
+     */
+    static IInterceptor targetOf(IInterceptor interceptor) {
+        return interceptor instanceof CompiledInterceptor ? ((CompiledInterceptor) interceptor).target : interceptor;
+    }
+
+    @Override
+    public void process(Postcard postcard, InterceptorCallback callback) {
+        chain.process(index, postcard, callback);
+    }
+
+    @Override
+    public void init(Context context) {
+        target.init(context);
+    }
+}
@@ -0,0 +1,401 @@
+package com.alibaba.android.arouter.core;
+
+import com.alibaba.android.arouter.exception.HandlerException;
+import com.alibaba.android.arouter.facade.Postcard;
+import com.alibaba.android.arouter.facade.callback.InterceptorCallback;
+import com.alibaba.android.arouter.facade.template.IInterceptor;
+import com.alibaba.android.arouter.facade.template.ITimedInterceptor;
+import com.alibaba.android.arouter.thread.DefaultScheduledExecutor;
+import com.alibaba.android.arouter.thread.LaneExecutor;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.alibaba.android.arouter.launcher.ARouter.logger;
+import static com.alibaba.android.arouter.utils.Consts.TAG;
+
+/**
+ * Interceptors of one navigation, a state machine which holds no thread while an interceptor is pending.
+ * <p>
+ * When the current interceptor continues, the next one is processed in a loop rather than recursion,
+ * by the thread which is in the loop, or by the thread which calls continue if the loop is idle.
+ * Continue, interrupt and timeout are delivered exactly once.
+ * <p>
+ * The chain is bounded by the deadline of postcard, and every {@link ITimedInterceptor} by its own budget,
+ * both are enforced by the shared timer, the late callbacks are dropped.
+ * <p>
+ * The interceptors of a parallel stage are processed concurrently, the stage moves on when all of them continue.
+ * A stage waits for the init of its interceptors without holding a thread, see {@link InterceptorInitializer}.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class InterceptorChain {
+    private final InterceptorTable table;
+    private final List<List<IInterceptor>> stages;
+    private final Postcard postcard;
+    private final InterceptorCallback callback;
+
+    // Count of continues which are not handled, the thread which increases it from 0 runs the loop.
+    private final AtomicInteger pendingContinues = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private final Timeout timeout = new Timeout(this);
+    private final Runnable resume = new Runnable() {
+        @Override
+        public void run() {
+            proceed();
+        }
+    };
+    // Generation of decision cache when this chain started.
+    private final int decisionGeneration = InterceptorDecisionCache.generation();
+    private volatile Future<?> timeoutFuture;
+
+    // Postcard passed by the last interceptor, used by the following interceptors.
+    private volatile Postcard current;
+    // Only accessed in the loop.
+    private int index;
+
+    /**
+     * @param table  interceptors which the stages are selected from
+     * @param stages stages of interceptors in the order of priority, see {@link InterceptorTable#select}
+     */
+    InterceptorChain(InterceptorTable table, List<List<IInterceptor>> stages, Postcard postcard, InterceptorCallback callback) {
+        this.table = table;
+        this.stages = stages;
+        this.postcard = postcard;
+        this.callback = callback;
+        this.current = postcard;
+    }
+
+    /**
+     * Process the interceptors from the first one, until the deadline of postcard.
+     */
+    void start() {
+        // The deadline starts with navigation, or now if the interceptors are called directly.
+        if (!postcard.hasDeadline()) {
+            postcard.startDeadline();
+        }
+        if (postcard.getRemainingMillis() <= 0) {
+            finish(new HandlerException("The navigation timed out before interceptors."));
+            return;
+        }
+
+        proceed();
+
+        if (!finished.get()) {
+            timeoutFuture = DefaultScheduledExecutor.getInstance().schedule(timeout, Math.max(0, postcard.getRemainingMillis()), TimeUnit.MILLISECONDS);
+            if (finished.get()) {
+                // Finished by other thread before scheduled.
+                timeoutFuture.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Move to the next stage.
+     */
+    private void proceed() {
+        if (pendingContinues.getAndIncrement() != 0) {
+            // The loop is running, it will handle this continue.
+            return;
+        }
+
+        do {
+            if (finished.get()) {
+                return;
+            }
+
+            if (index >= stages.size()) {
+                finish(null);
+                return;
+            }
+
+            List<IInterceptor> stage = stages.get(index);
+            if (!table.awaitInit(stage, resume)) {
+                // Resume when the interceptors of stage have been initialized, this thread isn't held.
+                continue;
+            }
+            Throwable initFailure = table.initFailureOf(stage);
+            if (null != initFailure) {
+                interrupt(initFailure);
+                return;
+            }
+
+            index++;
+            if (stage.size() > 1) {
+                startStage(stage);
+                continue;
+            }
+
+            try {
+                new Step(stage.get(0), current).process();
+            } catch (Exception e) {
+                interrupt(e);
+                return;
+            }
+        } while (pendingContinues.decrementAndGet() != 0);
+    }
+
+    /**
+     * Process the interceptors of stage concurrently, the last one is processed in this thread.
+     */
+    private void startStage(List<IInterceptor> stage) {
+        final ParallelStage parallelStage = new ParallelStage(stage.size());
+        final Postcard postcard = current;
+        for (int i = 0; i < stage.size(); i++) {
+            final IInterceptor interceptor = stage.get(i);
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                    parallelStage.process(interceptor, postcard);
+                }
+            };
+
+            if (i == stage.size() - 1 || null == LogisticsCenter.executor) {
+                task.run();
+            } else {
+                LogisticsCenter.executor.execute(LaneExecutor.Lane.INTERCEPTOR, task);
+            }
+        }
+    }
+
+    private void interrupt(Throwable exception) {
+        if (finished.get()) {
+            return;
+        }
+
+        // Save the exception message for backup.
+        postcard.setTag(null == exception ? new HandlerException("No message.") : exception);
+        finish((Throwable) postcard.getTag());
+    }
+
+    private void finish(Throwable exception) {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+
+        // The canceled timeout task maybe kept by timer until its delay, don't let it hold this chain.
+        timeout.chain.set(null);
+        Future<?> future = timeoutFuture;
+        if (null != future) {
+            future.cancel(false);
+        }
+
+        if (null != exception) {
+            callback.onInterrupt(exception);
+        } else if (postcard.getTag() instanceof Throwable) {    // Maybe some exception in the tag.
+            callback.onInterrupt((Throwable) postcard.getTag());
+        } else {
+            callback.onContinue(postcard);
+        }
+    }
+
+    /**
+     * The interceptor continues in time, its decision maybe cached.
+     */
+    private void onDecided(IInterceptor interceptor, Postcard postcard) {
+        if (!finished.get()) {
+            InterceptorDecisionCache.onContinue(CompiledInterceptor.targetOf(interceptor), postcard, decisionGeneration);
+        }
+    }
+
+    /**
+     * Callback for one interceptor, only its first call works, and it stops the budget of interceptor.
+     */
+    private abstract class InterceptorStep implements InterceptorCallback {
+        private final AtomicBoolean called = new AtomicBoolean();
+        final IInterceptor interceptor;
+        // Postcard passed to the interceptor.
+        final Postcard processed;
+        private volatile Budget budget;
+
+        InterceptorStep(IInterceptor interceptor, Postcard processed) {
+            this.interceptor = interceptor;
+            this.processed = processed;
+        }
+
+        /**
+         * Process the interceptor, the budget starts if it's still pending after process returns.
+         */
+        void process() {
+            long start = System.nanoTime();
+            interceptor.process(processed, this);
+            if (!called.get()) {
+                startBudget(start);
+            }
+        }
+
+        private void startBudget(long start) {
+            IInterceptor target = CompiledInterceptor.targetOf(interceptor);
+            long budgetMillis = target instanceof ITimedInterceptor ? ((ITimedInterceptor) target).budgetMillis() : 0;
+            if (budgetMillis <= 0) {
+                return;
+            }
+
+            Budget budget = new Budget(this, target.getClass().getName());
+            this.budget = budget;
+            long delay = TimeUnit.MILLISECONDS.toNanos(budgetMillis) - (System.nanoTime() - start);
+            budget.future = DefaultScheduledExecutor.getInstance().schedule(budget, Math.max(0, delay), TimeUnit.NANOSECONDS);
+            if (called.get()) {
+                // Called by other thread before scheduled.
+                budget.cancel();
+            }
+        }
+
+        @Override
+        public final void onContinue(Postcard postcard) {
+            if (called.compareAndSet(false, true)) {
+                stopBudget();
+                handleContinue(postcard);
+            }
+        }
+
+        @Override
+        public final void onInterrupt(Throwable exception) {
+            if (called.compareAndSet(false, true)) {
+                stopBudget();
+                handleInterrupt(exception);
+            }
+        }
+
+        private void stopBudget() {
+            Budget budget = this.budget;
+            if (null != budget) {
+                budget.cancel();
+            }
+        }
+
+        abstract void handleContinue(Postcard postcard);
+
+        abstract void handleInterrupt(Throwable exception);
+    }
+
+    private class Step extends InterceptorStep {
+        Step(IInterceptor interceptor, Postcard processed) {
+            super(interceptor, processed);
+        }
+
+        @Override
+        void handleContinue(Postcard postcard) {
+            onDecided(interceptor, processed);
+            if (null != postcard) {
+                current = postcard;
+            }
+            proceed();
+        }
+
+        @Override
+        void handleInterrupt(Throwable exception) {
+            interrupt(exception);
+        }
+    }
+
+    /**
+     * Interceptors of a parallel stage, the first interrupt cancels the rest of stage.
+     */
+    private class ParallelStage {
+        private final AtomicInteger remaining;
+        private final AtomicBoolean canceled = new AtomicBoolean();
+
+        ParallelStage(int count) {
+            remaining = new AtomicInteger(count);
+        }
+
+        void process(IInterceptor interceptor, Postcard postcard) {
+            if (canceled.get() || finished.get()) {
+                // Needn't process it.
+                return;
+            }
+
+            StageStep step = new StageStep(interceptor, postcard);
+            try {
+                step.process();
+            } catch (Exception e) {
+                step.onInterrupt(e);
+            }
+        }
+
+        /**
+         * Callback for one interceptor of stage.
+         */
+        private class StageStep extends InterceptorStep {
+            StageStep(IInterceptor interceptor, Postcard processed) {
+                super(interceptor, processed);
+            }
+
+            @Override
+            void handleContinue(Postcard postcard) {
+                if (null != postcard && postcard != processed) {
+                    // The interceptors of stage share one postcard, a replaced one can't be merged.
+                    logger.warning(TAG, "Parallel interceptor [" + interceptor.getClass().getName()
+                            + "] replaced the postcard, it's ignored, the postcard of stage is kept.");
+                }
+                if (!canceled.get()) {
+                    onDecided(interceptor, processed);
+                }
+                if (remaining.decrementAndGet() == 0 && !canceled.get()) {
+                    proceed();
+                }
+            }
+
+            @Override
+            void handleInterrupt(Throwable exception) {
+                if (canceled.compareAndSet(false, true)) {
+                    interrupt(exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Budget of one interceptor, it interrupts the step when time is up.
+     */
+    private static class Budget implements Runnable {
+        final AtomicReference<InterceptorCallback> step;
+        final String name;
+        volatile Future<?> future;
+
+        Budget(InterceptorCallback step, String name) {
+            this.step = new AtomicReference<>(step);
+            this.name = name;
+        }
+
+        void cancel() {
+            // The canceled task maybe kept by timer until its delay, don't let it hold the step.
+            step.set(null);
+            Future<?> future = this.future;
+            if (null != future) {
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            InterceptorCallback callback = step.getAndSet(null);
+            if (null != callback) {
+                callback.onInterrupt(new HandlerException("The interceptor [" + name + "] processing timed out."));
+            }
+        }
+    }
+
+    private static class Timeout implements Runnable {
+        final AtomicReference<InterceptorChain> chain;
+
+        Timeout(InterceptorChain chain) {
+            this.chain = new AtomicReference<>(chain);
+        }
+
+        @Override
+        public void run() {
+            InterceptorChain interceptorChain = chain.getAndSet(null);
+            if (null != interceptorChain) {
+                // Cancel the navigation this time, if it hasn't return anythings.
+                interceptorChain.finish(new HandlerException("The interceptor processing timed out."));
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.alibaba.android.arouter.core;
+
+import com.alibaba.android.arouter.facade.Postcard;
+import com.alibaba.android.arouter.facade.template.ICacheableInterceptor;
+import com.alibaba.android.arouter.facade.template.IInterceptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached decisions to continue of {@link ICacheableInterceptor}, by the class of interceptor and the key of decision.
+ * <p>
+ * Invalidation increases the generation, the decisions made by the chains started before it are not cached.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class InterceptorDecisionCache {
+    // 拦截器的类 -> 决策的 key -> 过期时间（纳秒）
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Long>> decisions = new ConcurrentHashMap<>();
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+
+    static int generation() {
+        return generation.get();
+    }
+
+    /**
+     * Remove the interceptors whose decision for this postcard is cached, and the stages which become empty.
+     *
+     * @return stages to process, same list if nothing is removed
+     */
+    static List<List<IInterceptor>> skipDecided(List<List<IInterceptor>> stages, Postcard postcard) {
+        List<List<IInterceptor>> remaining = null;
+        for (int i = 0; i < stages.size(); i++) {
+            List<IInterceptor> stage = stages.get(i);
+            List<IInterceptor> remainingStage = null;
+            for (int j = 0; j < stage.size(); j++) {
+                IInterceptor interceptor = stage.get(j);
+                if (isDecided(CompiledInterceptor.targetOf(interceptor), postcard)) {
+                    if (null == remainingStage) {
+                        remainingStage = new ArrayList<>(stage.subList(0, j));
+                    }
+                } else if (null != remainingStage) {
+                    remainingStage.add(interceptor);
+                }
+            }
+
+            if (null != remainingStage && null == remaining) {
+                remaining = new ArrayList<>(stages.subList(0, i));
+            }
+            if (null != remaining) {
+                if (null == remainingStage) {
+                    remaining.add(stage);
+                } else if (!remainingStage.isEmpty()) {
+                    remaining.add(Collections.unmodifiableList(remainingStage));
+                }
+            }
+        }
+        return null == remaining ? stages : remaining;
+    }
+
+    /**
+     * The interceptor continues the postcard, cache the decision if it's cacheable.
+     *
+     * @param generation generation when the chain started
+     */
+    static void onContinue(IInterceptor interceptor, Postcard postcard, int generation) {
+        if (!(interceptor instanceof ICacheableInterceptor)) {
+            return;
+        }
+
+        ICacheableInterceptor cacheable = (ICacheableInterceptor) interceptor;
+        String key = keyOf(cacheable, postcard);
+        long ttl = cacheable.decisionTtl();
+        if (null == key || ttl <= 0) {
+            return;
+        }
+
+        ConcurrentMap<String, Long> keys = decisions.get(interceptor.getClass());
+        if (null == keys) {
+            keys = new ConcurrentHashMap<>();
+            ConcurrentMap<String, Long> existing = decisions.putIfAbsent(interceptor.getClass(), keys);
+            if (null != existing) {
+                keys = existing;
+            }
+        }
+        keys.put(key, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttl));
+
+        if (generation != InterceptorDecisionCache.generation.get()) {
+            // Invalidated while the interceptor was deciding.
+            keys.remove(key);
+        }
+    }
+
+    /**
+     * Invalidate the decisions of interceptor.
+     */
+    static void invalidate(Class<? extends IInterceptor> interceptorClass) {
+        generation.incrementAndGet();
+        decisions.remove(interceptorClass);
+    }
+
+    static void invalidateAll() {
+        generation.incrementAndGet();
+        decisions.clear();
+    }
+
+    static long hitCount() {
+        return hitCount.get();
+    }
+
+    static long missCount() {
+        return missCount.get();
+    }
+
+    private static boolean isDecided(IInterceptor interceptor, Postcard postcard) {
+        if (!(interceptor instanceof ICacheableInterceptor)) {
+            return false;
+        }
+
+        String key = keyOf((ICacheableInterceptor) interceptor, postcard);
+        if (null == key) {
+            return false;
+        }
+
+        ConcurrentMap<String, Long> keys = decisions.get(interceptor.getClass());
+        Long expireAt = null == keys ? null : keys.get(key);
+        if (null != expireAt && expireAt - System.nanoTime() > 0) {
+            hitCount.incrementAndGet();
+            return true;
+        }
+
+        if (null != expireAt) {
+            // Expired
+            keys.remove(key, expireAt);
+        }
+        missCount.incrementAndGet();
+        return false;
+    }
+
+    private static String keyOf(ICacheableInterceptor interceptor, Postcard postcard) {
+        try {
+            return interceptor.decisionKey(postcard);
+        } catch (Exception e) {
+            // Can't be cached.
+            return null;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.alibaba.android.arouter.core;
+
+import android.content.Context;
+
+import com.alibaba.android.arouter.exception.HandlerException;
+import com.alibaba.android.arouter.facade.template.IInterceptor;
+import com.alibaba.android.arouter.launcher.ARouter;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.alibaba.android.arouter.launcher.ARouter.logger;
+import static com.alibaba.android.arouter.utils.Consts.TAG;
+
+/**
+ * Init interceptors concurrently with bounded workers, in the order of priority.
+ * <p>
+ * The interceptors are published before they are initialized, a chain only waits for the interceptors
+ * it's going to process, without holding a thread. The interceptor which fails to init interrupts the chains.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class InterceptorInitializer {
+    private static final int MAX_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private final Context context;
+    private final List<IInterceptor> interceptors;
+    // Interceptor and its state, immutable after constructed.
+    private final Map<IInterceptor, InitState> states = new IdentityHashMap<>();
+    // Next interceptor to init.
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private volatile boolean allDone;
+    private long startTime;
+
+    /**
+     * @param interceptors interceptors in the order of priority
+     */
+    InterceptorInitializer(Context context, List<IInterceptor> interceptors) {
+        this.context = context;
+        this.interceptors = interceptors;
+        this.remaining = new AtomicInteger(interceptors.size());
+        for (IInterceptor interceptor : interceptors) {
+            states.put(interceptor, new InitState());
+        }
+        allDone = interceptors.isEmpty();
+    }
+
+    /**
+     * Start workers in executor, a worker runs in the caller thread if it's rejected.
+     */
+    void start(Executor executor) {
+        startTime = System.nanoTime();
+        int workers = Math.min(MAX_WORKERS, interceptors.size());
+        for (int i = 0; i < workers; i++) {
+            Runnable worker = new Runnable() {
+                @Override
+                public void run() {
+                    initNext();
+                }
+            };
+
+            if (null == executor) {
+                worker.run();
+            } else {
+                try {
+                    executor.execute(worker);
+                } catch (RejectedExecutionException e) {
+                    worker.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Run the action when all of the interceptors of stage have been initialized.
+     *
+     * @return true if they have been initialized, and the action is not run
+     */
+    boolean awaitInit(List<IInterceptor> stage, Runnable action) {
+        if (allDone) {
+            return true;
+        }
+
+        StageWaiter waiter = null;
+        for (IInterceptor interceptor : stage) {
+            InitState state = states.get(interceptor);
+            if (null == state || state.done) {
+                continue;
+            }
+
+            if (null == waiter) {
+                waiter = new StageWaiter(action);
+            }
+            waiter.pending.incrementAndGet();
+            if (!state.addWaiter(waiter)) {
+                // Done just now.
+                waiter.pending.decrementAndGet();
+            }
+        }
+
+        if (null == waiter) {
+            return true;
+        }
+        // Release the reference held by itself, the action runs when the last one is done.
+        waiter.countDown();
+        return false;
+    }
+
+    /**
+     * Exception of the interceptors of stage which failed to init, null if all of them succeeded.
+     */
+    Throwable failureOf(List<IInterceptor> stage) {
+        for (IInterceptor interceptor : stage) {
+            InitState state = states.get(interceptor);
+            if (null != state && null != state.failure) {
+                return state.failure;
+            }
+        }
+        return null;
+    }
+
+    private void initNext() {
+        int index;
+        while ((index = cursor.getAndIncrement()) < interceptors.size()) {
+            IInterceptor interceptor = interceptors.get(index);
+            String name = CompiledInterceptor.targetOf(interceptor).getClass().getName();
+            InitState state = states.get(interceptor);
+
+            long start = System.nanoTime();
+            Throwable failure = null;
+            try {
+                interceptor.init(context);
+            } catch (Throwable ex) {
+                failure = new HandlerException(TAG + "ARouter init interceptor error! name = [" + name + "], reason = [" + ex.getMessage() + "]");
+                logger.error(TAG, failure.getMessage(), ex);
+            }
+            long cost = System.nanoTime() - start;
+            if (ARouter.debuggable()) {
+                logger.debug(TAG, String.format(Locale.getDefault(), "Interceptor [%s] init in [%d]us, thread [%s]",
+                        name, TimeUnit.NANOSECONDS.toMicros(cost), Thread.currentThread().getName()));
+            }
+
+            state.done(failure);
+            if (remaining.decrementAndGet() == 0) {
+                allDone = true;
+                logger.info(TAG, String.format(Locale.getDefault(), "ARouter interceptors init over, [%d] interceptors in [%d]ms.",
+                        interceptors.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+            }
+        }
+    }
+
+    private static class InitState {
+        volatile boolean done;
+        volatile Throwable failure;
+        private List<StageWaiter> waiters;
+
+        /**
+         * @return false if it's done, the waiter is not added
+         */
+        synchronized boolean addWaiter(StageWaiter waiter) {
+            if (done) {
+                return false;
+            }
+            if (null == waiters) {
+                waiters = new ArrayList<>(1);
+            }
+            waiters.add(waiter);
+            return true;
+        }
+
+        void done(Throwable failure) {
+            List<StageWaiter> waiters;
+            synchronized (this) {
+                this.failure = failure;
+                this.done = true;
+                waiters = this.waiters;
+                this.waiters = null;
+            }
+
+            if (null != waiters) {
+                for (StageWaiter waiter : waiters) {
+                    waiter.countDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waiter of a stage, it runs the action when all of interceptors of stage are done.
+     */
+    private static class StageWaiter {
+        // Starts from 1, held by the waiter itself until all of interceptors are added.
+        final AtomicInteger pending = new AtomicInteger(1);
+        final Runnable action;
+
+        StageWaiter(Runnable action) {
+            this.action = action;
+        }
+
+        void countDown() {
+            if (pending.decrementAndGet() == 0) {
+                action.run();
+            }
+        }
+    }
+}
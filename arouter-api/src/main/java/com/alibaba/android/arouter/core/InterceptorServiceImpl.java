@@ -6,15 +6,25 @@ import com.alibaba.android.arouter.exception.HandlerException;
 import com.alibaba.android.arouter.facade.Postcard;
 import com.alibaba.android.arouter.facade.annotation.Route;
 import com.alibaba.android.arouter.facade.callback.InterceptorCallback;
+import com.alibaba.android.arouter.facade.model.InterceptorScope;
+import com.alibaba.android.arouter.facade.model.Instantiator;
 import com.alibaba.android.arouter.facade.service.InterceptorService;
 import com.alibaba.android.arouter.facade.template.IInterceptor;
-import com.alibaba.android.arouter.thread.CancelableCountDownLatch;
+import com.alibaba.android.arouter.facade.template.IInterceptorChain;
+import com.alibaba.android.arouter.facade.template.INonBlockingInterceptor;
+import com.alibaba.android.arouter.thread.LaneExecutor;
 import com.alibaba.android.arouter.utils.MapUtils;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 import static com.alibaba.android.arouter.launcher.ARouter.logger;
+import static com.alibaba.android.arouter.utils.Consts.DOT;
+import static com.alibaba.android.arouter.utils.Consts.ROUTE_ROOT_PAKCAGE;
+import static com.alibaba.android.arouter.utils.Consts.SDK_NAME;
+import static com.alibaba.android.arouter.utils.Consts.SEPARATOR;
+import static com.alibaba.android.arouter.utils.Consts.SUFFIX_INTERCEPTOR_CHAIN;
 import static com.alibaba.android.arouter.utils.Consts.TAG;
 
 /**
@@ -26,7 +36,8 @@ import static com.alibaba.android.arouter.utils.Consts.TAG;
  */
 @Route(path = "/arouter/service/interceptor")
 public class InterceptorServiceImpl implements InterceptorService {
-    private static boolean interceptorHasInit;
+    // Interceptors have been created and published, they maybe still in init.
+    private static volatile boolean interceptorHasInit;
     private static final Object interceptorInitLock = new Object();
 
     @Override
@@ -34,7 +45,7 @@ public class InterceptorServiceImpl implements InterceptorService {
         // Warehouse.interceptors 中的拦截器，是在初始化时register 函数中设置的
         if (MapUtils.isNotEmpty(Warehouse.interceptorsIndex)) {
 
-            // 如果初始化未完成，则等待10s
+            // 如果拦截器还未创建并发布，则等待10s，拦截器的初始化由拦截器链异步等待
             checkInterceptorsInitStatus();
 
             if (!interceptorHasInit) {
@@ -43,27 +54,31 @@ public class InterceptorServiceImpl implements InterceptorService {
                 return;
             }
 
-            LogisticsCenter.executor.execute(new Runnable() {
+            // Use the same snapshot of interceptors during this navigation, only the interceptors in scope.
+            final InterceptorTable table = Warehouse.interceptors;
+            List<List<IInterceptor>> selected = table.select(postcard);
+            if (table.isCacheable()) {
+                // Skip the interceptors which have decided to continue, maybe all of them.
+                selected = InterceptorDecisionCache.skipDecided(selected, postcard);
+            }
+            final List<List<IInterceptor>> stages = selected;
+            if (stages.isEmpty()) {
+                // Nothing to do, same as green channel.
+                callback.onContinue(postcard);
+                return;
+            }
+
+            if (!containsBlocking(stages)) {
+                // Process inline, the navigation continues in this thread without switching.
+                new InterceptorChain(table, stages, postcard, callback).start();
+                return;
+            }
+
+            LogisticsCenter.executor.execute(LaneExecutor.Lane.NAVIGATION, new Runnable() {
                 @Override
                 public void run() {
-                    // 支持多线程操作的计数器
-                    CancelableCountDownLatch interceptorCounter = new CancelableCountDownLatch(Warehouse.interceptors.size());
-                    try {
-                        // 递归处理，执行拦截器
-                        _execute(0, interceptorCounter, postcard);
-                        interceptorCounter.await(postcard.getTimeout(), TimeUnit.SECONDS);
-                        if (interceptorCounter.getCount() > 0) {    // Cancel the navigation this time, if it hasn't return anythings.
-                            // 大于 0 说明此次请求被某个拦截器拦截了，走失败流程
-                            callback.onInterrupt(new HandlerException("The interceptor processing timed out."));
-                        } else if (null != postcard.getTag()) {    // Maybe some exception in the tag.
-                            // 在拦截器中断，可传递异常到postcard中
-                            callback.onInterrupt((Throwable) postcard.getTag());
-                        } else {
-                            callback.onContinue(postcard);
-                        }
-                    } catch (Exception e) {
-                        callback.onInterrupt(e);
-                    }
+                    // No thread is held while an interceptor is pending, the chain moves on when it continues.
+                    new InterceptorChain(table, stages, postcard, callback).start();
                 }
             });
         } else {
@@ -73,75 +88,125 @@ public class InterceptorServiceImpl implements InterceptorService {
     }
 
     /**
-     * Excute interceptor
-     *
-     * @param index    current interceptor index
-     * @param counter  interceptor counter
-     * @param postcard routeMeta
+     * Some of interceptors maybe block the thread, they should be processed in the thread pool.
      */
-    private static void _execute(final int index, final CancelableCountDownLatch counter, final Postcard postcard) {
-        if (index < Warehouse.interceptors.size()) {
-            IInterceptor iInterceptor = Warehouse.interceptors.get(index);
-            iInterceptor.process(postcard, new InterceptorCallback() {
-                @Override
-                public void onContinue(Postcard postcard) {
-                    // Last interceptor excute over with no exception.
-                    // 没有异常地执行最后一个拦截器。
-                    // 执行完一个拦截器，拦截器计数器减一
-                    counter.countDown();
-                    // 继续执行下一个
-                    _execute(index + 1, counter, postcard);  // When counter is down, it will be execute continue ,but index bigger than interceptors size, then U know.
+    private static boolean containsBlocking(List<List<IInterceptor>> stages) {
+        for (List<IInterceptor> stage : stages) {
+            for (IInterceptor interceptor : stage) {
+                if (!(CompiledInterceptor.targetOf(interceptor) instanceof INonBlockingInterceptor)) {
+                    return true;
                 }
-
-                @Override
-                public void onInterrupt(Throwable exception) {
-                    // Last interceptor execute over with fatal exception.
-
-                    postcard.setTag(null == exception ? new HandlerException("No message.") : exception);    // save the exception message for backup.
-                    counter.cancel();
-                    // Be attention, maybe the thread in callback has been changed,
-                    // then the catch block(L207) will be invalid.
-                    // The worst is the thread changed to main thread, then the app will be crash, if you throw this exception!
-//                    if (!Looper.getMainLooper().equals(Looper.myLooper())) {    // You shouldn't throw the exception if the thread is main thread.
-//                        throw new HandlerException(exception.getMessage());
-//                    }
-                }
-            });
+            }
         }
+        return false;
     }
 
     @Override
     public void init(final Context context) {
-        LogisticsCenter.executor.execute(new Runnable() {
+        LogisticsCenter.executor.execute(LaneExecutor.Lane.STARTUP, new Runnable() {
             @Override
             public void run() {
                 if (MapUtils.isNotEmpty(Warehouse.interceptorsIndex)) {
-                    // 遍历拦截器列表，通过反射构建对象并初始化
-                    // Warehouse.interceptorsIndex，包含所有模块的IInterceptor的class
-                    for (Map.Entry<Integer, Class<? extends IInterceptor>> entry : Warehouse.interceptorsIndex.entrySet()) {
-                        Class<? extends IInterceptor> interceptorClass = entry.getValue();
-                        try {
-                            IInterceptor iInterceptor = interceptorClass.getConstructor().newInstance();
-                            iInterceptor.init(context);
-                            // Warehouse.interceptors，包含所有模块的IInterceptor的实例
-                            Warehouse.interceptors.add(iInterceptor);
-                        } catch (Exception ex) {
-                            throw new HandlerException(TAG + "ARouter init interceptor error! name = [" + interceptorClass.getName() + "], reason = [" + ex.getMessage() + "]");
-                        }
+                    List<IInterceptor> interceptors = new ArrayList<>(Warehouse.interceptorsIndex.size());
+                    List<Integer> priorities = new ArrayList<>(Warehouse.interceptorsIndex.size());
+                    List<InterceptorScope> scopes = new ArrayList<>(Warehouse.interceptorsIndex.size());
+                    // 优先由插件生成的拦截器链直接构建对象，没有生成或已过期时，通过索引构建
+                    if (!createByChain(priorities, interceptors)) {
+                        createByIndex(priorities, interceptors);
                     }
 
-                    interceptorHasInit = true;
+                    for (Integer priority : priorities) {
+                        scopes.add(Warehouse.interceptorScopes.get(priority));
+                    }
+
+                    // Warehouse.interceptors，包含所有模块的IInterceptor的实例，创建后一次性发布
+                    // 初始化按优先级并发进行，跳转只等待它要执行的拦截器
+                    InterceptorInitializer initializer = new InterceptorInitializer(context, interceptors);
+                    Warehouse.interceptors = new InterceptorTable(priorities, interceptors, scopes, initializer);
 
-                    logger.info(TAG, "ARouter interceptors init over.");
+                    interceptorHasInit = true;
 
                     synchronized (interceptorInitLock) {
                         interceptorInitLock.notifyAll();
                     }
+
+                    initializer.start(LogisticsCenter.executor.lane(LaneExecutor.Lane.STARTUP));
                 }
             }
         });
     }
 
+    /**
+     * Create interceptors by the chain which is generated by arouter-register plugin.
+     *
+     * @return false if the chain is not generated, or it doesn't match the index
+     */
+    private static boolean createByChain(List<Integer> priorities, List<IInterceptor> interceptors) {
+        IInterceptorChain chain;
+        try {
+            chain = (IInterceptorChain) Class.forName(ROUTE_ROOT_PAKCAGE + DOT + SDK_NAME + SEPARATOR + SUFFIX_INTERCEPTOR_CHAIN).getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            // Without arouter-register plugin.
+            return false;
+        } catch (Exception e) {
+            logger.warning(TAG, "Load interceptor chain failed, create interceptors by index, reason = [" + e.getMessage() + "]");
+            return false;
+        }
+
+        // The chain is generated from the whole app, the index maybe differs when some of groups are registered by other way.
+        int[] chainPriorities = chain.priorities();
+        if (chainPriorities.length != Warehouse.interceptorsIndex.size()) {
+            logger.warning(TAG, "Interceptor chain doesn't match the index, create interceptors by index.");
+            return false;
+        }
+        int index = 0;
+        for (Integer priority : Warehouse.interceptorsIndex.keySet()) {
+            if (priority != chainPriorities[index++]) {
+                logger.warning(TAG, "Interceptor chain doesn't match the index, create interceptors by index.");
+                return false;
+            }
+        }
+
+        IInterceptor[] created;
+        try {
+            created = chain.create();
+        } catch (Exception ex) {
+            throw new HandlerException(TAG + "ARouter create interceptors error! reason = [" + ex.getMessage() + "]");
+        }
+        for (int i = 0; i < created.length; i++) {
+            if (created[i].getClass() != Warehouse.interceptorsIndex.get(chainPriorities[i])) {
+                logger.warning(TAG, "Interceptor chain doesn't match the index, create interceptors by index.");
+                return false;
+            }
+        }
+
+        for (int i = 0; i < created.length; i++) {
+            priorities.add(chainPriorities[i]);
+            interceptors.add(new CompiledInterceptor(chain, i, created[i]));
+        }
+        logger.info(TAG, "Interceptors are created by the generated chain.");
+        return true;
+    }
+
+    /**
+     * Create interceptors by the code generated by arouter-compiler, reflection if it's generated by old version.
+     */
+    private static void createByIndex(List<Integer> priorities, List<IInterceptor> interceptors) {
+        // 遍历拦截器列表，通过生成的代码或反射构建对象
+        // Warehouse.interceptorsIndex，包含所有模块的IInterceptor的class
+        for (Map.Entry<Integer, Class<? extends IInterceptor>> entry : Warehouse.interceptorsIndex.entrySet()) {
+            Class<? extends IInterceptor> interceptorClass = entry.getValue();
+            try {
+                Instantiator instantiator = Warehouse.interceptorInstantiators.get(entry.getKey());
+                Object interceptor = null == instantiator ? null : instantiator.newInstance(entry.getKey());
+                interceptors.add(null != interceptor ? (IInterceptor) interceptor : interceptorClass.getConstructor().newInstance());
+                priorities.add(entry.getKey());
+            } catch (Exception ex) {
+                throw new HandlerException(TAG + "ARouter init interceptor error! name = [" + interceptorClass.getName() + "], reason = [" + ex.getMessage() + "]");
+            }
+        }
+    }
+
     private static void checkInterceptorsInitStatus() {
         synchronized (interceptorInitLock) {
             while (!interceptorHasInit) {
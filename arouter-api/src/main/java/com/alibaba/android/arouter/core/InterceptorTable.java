@@ -0,0 +1,211 @@
+package com.alibaba.android.arouter.core;
+
+import com.alibaba.android.arouter.facade.Postcard;
+import com.alibaba.android.arouter.facade.model.InterceptorScope;
+import com.alibaba.android.arouter.facade.template.ICacheableInterceptor;
+import com.alibaba.android.arouter.facade.template.IInterceptor;
+import com.alibaba.android.arouter.facade.template.IParallelInterceptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Initialized interceptors in the order of priority, with their scopes, immutable.
+ * <p>
+ * The interceptors which may process the routes of a group are picked once per group,
+ * then the scopes of path, type and extra are checked per navigation.
+ * Interceptors are split into stages, see {@link IParallelInterceptor}.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class InterceptorTable {
+    static final InterceptorTable EMPTY = new InterceptorTable(Collections.<Integer>emptyList(), Collections.<IInterceptor>emptyList(), Collections.<InterceptorScope>emptyList());
+    // Parallel interceptors in the same band of priority are a stage.
+    private static final int PRIORITY_BAND = 10;
+
+    private final List<Integer> priorities;
+    private final List<IInterceptor> interceptors;
+    // Same index as interceptors, null means no scope.
+    private final List<InterceptorScope> scopes;
+    private final boolean scoped;
+    // Some of interceptors are ICacheableInterceptor.
+    private final boolean cacheable;
+    private final List<List<IInterceptor>> stages;
+    // Init of interceptors, null means all of them have been initialized.
+    private final InterceptorInitializer initializer;
+    // Group name and interceptors which may process its routes.
+    private final ConcurrentMap<String, GroupChain> groupChains = new ConcurrentHashMap<>();
+
+    InterceptorTable(List<Integer> priorities, List<IInterceptor> interceptors, List<InterceptorScope> scopes) {
+        this(priorities, interceptors, scopes, null);
+    }
+
+    /**
+     * @param priorities   priorities of interceptors, in order
+     * @param interceptors interceptors in the order of priority
+     * @param scopes       scopes of interceptors, same index as interceptors, null means no scope
+     * @param initializer  init of interceptors which maybe in progress, null means they have been initialized
+     */
+    InterceptorTable(List<Integer> priorities, List<IInterceptor> interceptors, List<InterceptorScope> scopes, InterceptorInitializer initializer) {
+        this.initializer = initializer;
+        this.priorities = Collections.unmodifiableList(priorities);
+        this.interceptors = Collections.unmodifiableList(interceptors);
+        this.scopes = Collections.unmodifiableList(scopes);
+        this.stages = toStages(this.priorities, this.interceptors);
+
+        boolean hasScope = false;
+        for (InterceptorScope scope : scopes) {
+            if (null != scope) {
+                hasScope = true;
+                break;
+            }
+        }
+        this.scoped = hasScope;
+
+        boolean hasCacheable = false;
+        for (IInterceptor interceptor : interceptors) {
+            if (CompiledInterceptor.targetOf(interceptor) instanceof ICacheableInterceptor) {
+                hasCacheable = true;
+                break;
+            }
+        }
+        this.cacheable = hasCacheable;
+    }
+
+    /**
+     * All of interceptors.
+     */
+    List<IInterceptor> all() {
+        return interceptors;
+    }
+
+    /**
+     * Run the action when the interceptors of stage have been initialized, see {@link InterceptorInitializer#awaitInit}.
+     *
+     * @return true if they have been initialized, and the action is not run
+     */
+    boolean awaitInit(List<IInterceptor> stage, Runnable action) {
+        return null == initializer || initializer.awaitInit(stage, action);
+    }
+
+    /**
+     * Exception of the interceptors of stage which failed to init, null if all of them succeeded.
+     */
+    Throwable initFailureOf(List<IInterceptor> stage) {
+        return null == initializer ? null : initializer.failureOf(stage);
+    }
+
+    /**
+     * Some of interceptors may have cached decisions, see {@link InterceptorDecisionCache}.
+     */
+    boolean isCacheable() {
+        return cacheable;
+    }
+
+    /**
+     * Stages of the interceptors which process this postcard, in the order of priority.
+     */
+    List<List<IInterceptor>> select(Postcard postcard) {
+        if (!scoped) {
+            return stages;
+        }
+
+        String group = String.valueOf(postcard.getGroup());
+        GroupChain groupChain = groupChains.get(group);
+        if (null == groupChain) {
+            groupChain = new GroupChain(group);
+            GroupChain existing = groupChains.putIfAbsent(group, groupChain);
+            if (null != existing) {
+                groupChain = existing;
+            }
+        }
+        return groupChain.select(postcard);
+    }
+
+    /**
+     * Split interceptors into stages, adjacent parallel interceptors in the same band of priority are a stage,
+     * every other interceptor is a stage of its own.
+     */
+    private static List<List<IInterceptor>> toStages(List<Integer> priorities, List<IInterceptor> interceptors) {
+        List<List<IInterceptor>> stages = new ArrayList<>(interceptors.size());
+        List<IInterceptor> stage = null;
+        int stageBand = 0;
+        for (int i = 0; i < interceptors.size(); i++) {
+            IInterceptor interceptor = interceptors.get(i);
+            boolean parallel = CompiledInterceptor.targetOf(interceptor) instanceof IParallelInterceptor;
+            int band = bandOf(priorities.get(i));
+            if (parallel && null != stage && band == stageBand) {
+                stage.add(interceptor);
+                continue;
+            }
+
+            if (null != stage) {
+                stages.add(Collections.unmodifiableList(stage));
+                stage = null;
+            }
+            if (parallel) {
+                stage = new ArrayList<>();
+                stage.add(interceptor);
+                stageBand = band;
+            } else {
+                stages.add(Collections.singletonList(interceptor));
+            }
+        }
+        if (null != stage) {
+            stages.add(Collections.unmodifiableList(stage));
+        }
+        return Collections.unmodifiableList(stages);
+    }
+
+    private static int bandOf(int priority) {
+        // Round down, -1 is in the band of -10 to -1.
+        return priority >= 0 ? priority / PRIORITY_BAND : (priority + 1) / PRIORITY_BAND - 1;
+    }
+
+    private class GroupChain {
+        final List<Integer> priorities = new ArrayList<>();
+        final List<IInterceptor> interceptors = new ArrayList<>();
+        final List<InterceptorScope> scopes = new ArrayList<>();
+        // Some of interceptors are scoped by path, type or extra.
+        boolean routeScoped;
+        // Stages of interceptors, if they are not scoped by route.
+        List<List<IInterceptor>> stages;
+
+        GroupChain(String group) {
+            for (int i = 0; i < InterceptorTable.this.interceptors.size(); i++) {
+                InterceptorScope scope = InterceptorTable.this.scopes.get(i);
+                if (null == scope || scope.matchesGroup(group)) {
+                    priorities.add(InterceptorTable.this.priorities.get(i));
+                    interceptors.add(InterceptorTable.this.interceptors.get(i));
+                    scopes.add(scope);
+                    routeScoped |= null != scope && scope.isRouteScoped();
+                }
+            }
+
+            if (!routeScoped) {
+                stages = toStages(priorities, interceptors);
+            }
+        }
+
+        List<List<IInterceptor>> select(Postcard postcard) {
+            if (!routeScoped) {
+                return stages;
+            }
+
+            List<Integer> selectedPriorities = new ArrayList<>(interceptors.size());
+            List<IInterceptor> selected = new ArrayList<>(interceptors.size());
+            for (int i = 0; i < interceptors.size(); i++) {
+                InterceptorScope scope = scopes.get(i);
+                if (null == scope || scope.matchesRoute(postcard.getPath(), postcard.getType(), postcard.getExtra())) {
+                    selectedPriorities.add(priorities.get(i));
+                    selected.add(interceptors.get(i));
+                }
+            }
+            return toStages(selectedPriorities, selected);
+        }
+    }
+}
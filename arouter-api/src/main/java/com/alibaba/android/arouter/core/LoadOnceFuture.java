@@ -0,0 +1,71 @@
+package com.alibaba.android.arouter.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Load something once per key, the threads which want the same key wait for the first one,
+ * and threads which want other keys are not blocked.
+ * <p>
+ * A failed load is removed, so it will be retried by the next caller.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class LoadOnceFuture<V> extends FutureTask<V> {
+    private volatile Thread runner;
+
+    private LoadOnceFuture(Callable<V> callable) {
+        super(callable);
+    }
+
+    @Override
+    public void run() {
+        runner = Thread.currentThread();
+        try {
+            super.run();
+        } finally {
+            runner = null;
+        }
+    }
+
+    /**
+     * Load the value of key, or wait for the thread which is loading it.
+     *
+     * @param loaders  futures of keys, the future is kept after loaded
+     * @param key      key
+     * @param callable load value, run in the caller thread
+     * @return value
+     * @throws Exception thrown by callable, or the key is loaded recursively by the same thread
+     */
+    static <K, V> V load(ConcurrentMap<K, LoadOnceFuture<V>> loaders, K key, Callable<V> callable) throws Exception {
+        LoadOnceFuture<V> future = loaders.get(key);
+        if (null == future) {
+            LoadOnceFuture<V> newFuture = new LoadOnceFuture<>(callable);
+            future = loaders.putIfAbsent(key, newFuture);
+            if (null == future) {
+                future = newFuture;
+                newFuture.run();
+            }
+        }
+
+        if (!future.isDone() && future.runner == Thread.currentThread()) {
+            throw new IllegalStateException("[" + key + "] is loaded recursively.");
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            loaders.remove(key, future);
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,31 +1,44 @@
 package com.alibaba.android.arouter.core;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.SharedPreferences;
 import android.net.Uri;
 
 import com.alibaba.android.arouter.exception.HandlerException;
+import com.alibaba.android.arouter.exception.InitException;
 import com.alibaba.android.arouter.exception.NoRouteFoundException;
 import com.alibaba.android.arouter.facade.Postcard;
 import com.alibaba.android.arouter.facade.enums.TypeKind;
+import com.alibaba.android.arouter.facade.model.Instantiator;
 import com.alibaba.android.arouter.facade.model.RouteMeta;
+import com.alibaba.android.arouter.facade.template.ICacheableInterceptor;
+import com.alibaba.android.arouter.facade.template.IInterceptor;
 import com.alibaba.android.arouter.facade.template.IInterceptorGroup;
+import com.alibaba.android.arouter.facade.template.IInterceptorScopeGroup;
 import com.alibaba.android.arouter.facade.template.IProvider;
+import com.alibaba.android.arouter.facade.template.IProviderFactory;
 import com.alibaba.android.arouter.facade.template.IProviderGroup;
+import com.alibaba.android.arouter.facade.template.IRouteFactoryRoot;
 import com.alibaba.android.arouter.facade.template.IRouteGroup;
+import com.alibaba.android.arouter.facade.template.IRouteGroupFactory;
 import com.alibaba.android.arouter.facade.template.IRouteRoot;
 import com.alibaba.android.arouter.launcher.ARouter;
+import com.alibaba.android.arouter.thread.LaneExecutor;
 import com.alibaba.android.arouter.utils.ClassUtils;
 import com.alibaba.android.arouter.utils.Consts;
-import com.alibaba.android.arouter.utils.MapUtils;
 import com.alibaba.android.arouter.utils.PackageUtils;
+import com.alibaba.android.arouter.utils.RouterMapCache;
 import com.alibaba.android.arouter.utils.TextUtils;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 import static com.alibaba.android.arouter.launcher.ARouter.logger;
 import static com.alibaba.android.arouter.utils.Consts.AROUTER_SP_CACHE_KEY;
@@ -52,8 +65,9 @@ import static com.alibaba.android.arouter.utils.Consts.TAG;
  */
 public class LogisticsCenter {
     private static Context mContext;
-    static ThreadPoolExecutor executor;
+    static LaneExecutor executor;
     private static boolean registerByPlugin;
+    private static final int MAX_LOAD_ATTEMPTS_IN_BOUNDED_MODE = 8;
 
     /**
      * arouter-auto-register plugin will generate code inside this method
@@ -101,8 +115,8 @@ public class LogisticsCenter {
      */
     private static void registerRouteRoot(IRouteRoot routeRoot) {
         markRegisteredByPlugin();
-        if (routeRoot != null) {
-            routeRoot.loadInto(Warehouse.groupsIndex);
+        if (routeRoot != null && !isCoveredByManifest(routeRoot.getClass().getName())) {
+            loadRouteRoot(routeRoot);
         }
     }
 
@@ -113,7 +127,7 @@ public class LogisticsCenter {
     private static void registerInterceptor(IInterceptorGroup interceptorGroup) {
         markRegisteredByPlugin();
         if (interceptorGroup != null) {
-            interceptorGroup.loadInto(Warehouse.interceptorsIndex);
+            loadInterceptorGroup(interceptorGroup);
         }
     }
 
@@ -124,7 +138,7 @@ public class LogisticsCenter {
     private static void registerProvider(IProviderGroup providerGroup) {
         markRegisteredByPlugin();
         if (providerGroup != null) {
-            providerGroup.loadInto(Warehouse.providersIndex);
+            loadProviderGroup(providerGroup);
         }
     }
 
@@ -137,15 +151,133 @@ public class LogisticsCenter {
         }
     }
 
+    /**
+     * Load router class by the prefix of its class name.
+     *
+     * @param className class generated by arouter-compiler
+     */
+    private static void loadRouterClass(String className) {
+        // 通过 className 的前缀来判断该 class 对应的什么类型，并同时缓存到 Warehouse 中
+        // 1.IRouteRoot，内含所有组（IRouteGroup）
+        // 2.IInterceptorGroup
+        // 3.IProviderGroup
+        // TODO 问题：为什么 IRouteRoot 内含有 RouteType.PROVIDER
+        try {
+            if (className.startsWith(ROUTE_ROOT_PAKCAGE + DOT + SDK_NAME + SEPARATOR + SUFFIX_ROOT)) {
+                if (isCoveredByManifest(className)) {
+                    // Groups of this root will be decoded from route manifest.
+                    return;
+                }
+                // This one of root elements, load root.
+                loadRouteRoot((IRouteRoot) (Class.forName(className).getConstructor().newInstance()));
+            } else if (className.startsWith(ROUTE_ROOT_PAKCAGE + DOT + SDK_NAME + SEPARATOR + SUFFIX_INTERCEPTORS)) {
+                // Load interceptorMeta
+                loadInterceptorGroup((IInterceptorGroup) (Class.forName(className).getConstructor().newInstance()));
+            } else if (className.startsWith(ROUTE_ROOT_PAKCAGE + DOT + SDK_NAME + SEPARATOR + SUFFIX_PROVIDERS)) {
+                // Load providerIndex
+                loadProviderGroup((IProviderGroup) (Class.forName(className).getConstructor().newInstance()));
+            }
+        } catch (Exception e) {
+            throw new HandlerException(TAG + "Load router class [" + className + "] failed! [" + e.getMessage() + "]");
+        }
+    }
+
+    /**
+     * Load the group factories of root into index.
+     */
+    private static void loadRouteRoot(IRouteRoot routeRoot) {
+        // Load into a temp map, the index is copied once per root.
+        Map<String, IRouteGroupFactory> factories = new HashMap<>();
+        if (routeRoot instanceof IRouteFactoryRoot) {
+            ((IRouteFactoryRoot) routeRoot).loadFactoryInto(factories);
+        } else {
+            // Generated by old version of arouter-compiler, its groups will be created by reflection.
+            Map<String, Class<? extends IRouteGroup>> groups = new HashMap<>();
+            routeRoot.loadInto(groups);
+            for (Map.Entry<String, Class<? extends IRouteGroup>> entry : groups.entrySet()) {
+                factories.put(entry.getKey(), new RouteGroupClassFactory(entry.getValue()));
+            }
+        }
+        Warehouse.groupsIndex.putAll(factories);
+        // The paths missed before maybe in new groups.
+        MissingRouteCache.invalidateAll();
+    }
+
+    /**
+     * Load the interceptors of group and their scopes into index.
+     */
+    private static void loadInterceptorGroup(IInterceptorGroup interceptorGroup) {
+        if (interceptorGroup instanceof Instantiator) {
+            // The interceptors of group are created by itself, by priority.
+            Map<Integer, Class<? extends IInterceptor>> interceptors = new HashMap<>();
+            interceptorGroup.loadInto(interceptors);
+            Warehouse.interceptorsIndex.putAll(interceptors);
+            for (Integer priority : interceptors.keySet()) {
+                Warehouse.interceptorInstantiators.put(priority, (Instantiator) interceptorGroup);
+            }
+        } else {
+            interceptorGroup.loadInto(Warehouse.interceptorsIndex);
+        }
+        if (interceptorGroup instanceof IInterceptorScopeGroup) {
+            ((IInterceptorScopeGroup) interceptorGroup).loadScopeInto(Warehouse.interceptorScopes);
+        }
+    }
+
+    /**
+     * Load the providers of group into index.
+     */
+    private static void loadProviderGroup(IProviderGroup providerGroup) {
+        Map<String, RouteMeta> providers = new HashMap<>();
+        providerGroup.loadInto(providers);
+        Warehouse.providersIndex.putAll(providers);
+        // The services looked up before maybe absent.
+        ProviderCache.invalidateAll();
+    }
+
+    /**
+     * Whether the groups of root have been merged into route manifest.
+     *
+     * @param rootClassName class name of IRouteRoot, like 'ARouter$$Root$$app'
+     */
+    private static boolean isCoveredByManifest(String rootClassName) {
+        RouteManifest manifest = Warehouse.routeManifest;
+        if (null == manifest) {
+            return false;
+        }
+
+        String rootPrefix = SDK_NAME + SEPARATOR + SUFFIX_ROOT + SEPARATOR;
+        int index = rootClassName.lastIndexOf(rootPrefix);
+        return index >= 0 && manifest.containsModule(rootClassName.substring(index + rootPrefix.length()));
+    }
+
+    /**
+     * Save router map into binary cache off the init thread,
+     * and drop the string set saved in SharedPreferences by earlier versions.
+     */
+    private static void saveRouterMap(Context context, Set<String> routerMap) {
+        RouterMapCache.writeAsync(context, routerMap, executor.lane(LaneExecutor.Lane.PREFETCH));
+
+        SharedPreferences sp = context.getSharedPreferences(AROUTER_SP_CACHE_KEY, Context.MODE_PRIVATE);
+        if (sp.contains(AROUTER_SP_KEY_MAP)) {
+            sp.edit().remove(AROUTER_SP_KEY_MAP).apply();
+        }
+    }
+
     /**
      * LogisticsCenter init, load all metas in memory. Demand initialization
      */
-    public synchronized static void init(Context context, ThreadPoolExecutor tpe) throws HandlerException {
+    public synchronized static void init(Context context, Executor tpe) throws HandlerException {
         mContext = context;
-        executor = tpe;
+        executor = tpe instanceof LaneExecutor ? (LaneExecutor) tpe : new LaneExecutor(tpe);
 
         try {
             long startInit = System.currentTimeMillis();
+            // Route manifest merged by plugin, its groups are decoded on demand.
+            Warehouse.routeManifest = RouteManifest.open(context);
+            if (null != Warehouse.routeManifest) {
+                logger.info(TAG, "Load route manifest, contains " + Warehouse.routeManifest.groupCount() + " groups.");
+            }
+
             //load by plugin first
             loadRouterMap();
             if (registerByPlugin) {
@@ -160,56 +292,100 @@ public class LogisticsCenter {
                     logger.info(TAG, "Run with debug mode or new install, rebuild router map.");
                     // These class was generated by arouter-compiler.
                     // 获取 [ROUTE_ROOT_PAKCAGE] 包名下所有的 ClassName，包括IRouteRoot、IProviderGroup、IInterceptorGroup
-                    routerMap = ClassUtils.getFileNameByPackageName(mContext, ROUTE_ROOT_PAKCAGE);
+                    // Load each class as soon as its dex has been scanned, the others are still scanning.
+                    routerMap = ClassUtils.getFileNameByPackageName(mContext, ROUTE_ROOT_PAKCAGE, new ClassUtils.OnClassFoundListener() {
+                        @Override
+                        public void onClassFound(String className) {
+                            loadRouterClass(className);
+                        }
+                    });
                     if (!routerMap.isEmpty()) {
-                        // 存入到Sp中
-                        context.getSharedPreferences(AROUTER_SP_CACHE_KEY, Context.MODE_PRIVATE).edit().putStringSet(AROUTER_SP_KEY_MAP, routerMap).apply();
+                        // 存入到缓存文件中，不阻塞当前线程
+                        saveRouterMap(context, routerMap);
                     }
 
                     // 更新版本信息
                     PackageUtils.updateVersion(context);    // Save new version name when router map update finishes.
+
+                    logger.info(TAG, "Find and load router map finished, map size = " + routerMap.size() + ", cost " + (System.currentTimeMillis() - startInit) + " ms.");
                 } else {
                     logger.info(TAG, "Load router map from cache.");
-                    // 拿Sp里面的信息
-                    routerMap = new HashSet<>(context.getSharedPreferences(AROUTER_SP_CACHE_KEY, Context.MODE_PRIVATE).getStringSet(AROUTER_SP_KEY_MAP, new HashSet<String>()));
-                }
+                    // 拿缓存文件里面的信息
+                    routerMap = RouterMapCache.read(context);
+                    if (null == routerMap) {
+                        // Cache missing or corrupt, rebuild it.
+                        logger.warning(TAG, "Router map cache is unavailable, rebuild router map.");
+                        routerMap = ClassUtils.getFileNameByPackageName(mContext, ROUTE_ROOT_PAKCAGE);
+                        if (!routerMap.isEmpty()) {
+                            saveRouterMap(context, routerMap);
+                        }
+                    }
+
+                    logger.info(TAG, "Find router map finished, map size = " + routerMap.size() + ", cost " + (System.currentTimeMillis() - startInit) + " ms.");
+                    startInit = System.currentTimeMillis();
 
-                logger.info(TAG, "Find router map finished, map size = " + routerMap.size() + ", cost " + (System.currentTimeMillis() - startInit) + " ms.");
-                startInit = System.currentTimeMillis();
-
-                for (String className : routerMap) {
-                    // 通过 className 的前缀来判断该 class 对应的什么类型，并同时缓存到 Warehouse 中
-                    // 1.IRouteRoot，内含所有组（IRouteGroup）
-                    // 2.IInterceptorGroup
-                    // 3.IProviderGroup
-                    // TODO 问题：为什么 IRouteRoot 内含有 RouteType.PROVIDER
-                    if (className.startsWith(ROUTE_ROOT_PAKCAGE + DOT + SDK_NAME + SEPARATOR + SUFFIX_ROOT)) {
-                        // This one of root elements, load root.
-                        ((IRouteRoot) (Class.forName(className).getConstructor().newInstance())).loadInto(Warehouse.groupsIndex);
-                    } else if (className.startsWith(ROUTE_ROOT_PAKCAGE + DOT + SDK_NAME + SEPARATOR + SUFFIX_INTERCEPTORS)) {
-                        // Load interceptorMeta
-                        ((IInterceptorGroup) (Class.forName(className).getConstructor().newInstance())).loadInto(Warehouse.interceptorsIndex);
-                    } else if (className.startsWith(ROUTE_ROOT_PAKCAGE + DOT + SDK_NAME + SEPARATOR + SUFFIX_PROVIDERS)) {
-                        // Load providerIndex
-                        ((IProviderGroup) (Class.forName(className).getConstructor().newInstance())).loadInto(Warehouse.providersIndex);
+                    for (String className : routerMap) {
+                        loadRouterClass(className);
                     }
                 }
             }
 
             logger.info(TAG, "Load root element finished, cost " + (System.currentTimeMillis() - startInit) + " ms.");
 
-            if (Warehouse.groupsIndex.size() == 0) {
+            if (Warehouse.groupsIndex.size() == 0 && (null == Warehouse.routeManifest || Warehouse.routeManifest.groupCount() == 0)) {
                 logger.error(TAG, "No mapping files were found, check your configuration please!");
             }
 
             if (ARouter.debuggable()) {
-                logger.debug(TAG, String.format(Locale.getDefault(), "LogisticsCenter has already been loaded, GroupIndex[%d], InterceptorIndex[%d], ProviderIndex[%d]", Warehouse.groupsIndex.size(), Warehouse.interceptorsIndex.size(), Warehouse.providersIndex.size()));
+                logger.debug(TAG, String.format(Locale.getDefault(), "LogisticsCenter has already been loaded, GroupIndex[%d], ManifestGroup[%d], InterceptorIndex[%d], ProviderIndex[%d]", Warehouse.groupsIndex.size(), null == Warehouse.routeManifest ? 0 : Warehouse.routeManifest.groupCount(), Warehouse.interceptorsIndex.size(), Warehouse.providersIndex.size()));
             }
+
+            // Init eager providers in background, the graph is built there too.
+            ProviderInitializer.start(executor.lane(LaneExecutor.Lane.STARTUP));
         } catch (Exception e) {
             throw new HandlerException(TAG + "ARouter init logistics center exception! [" + e.getMessage() + "]");
         }
     }
 
+    /**
+     * Find the provider of service, the result is cached including absent, see {@link ProviderCache}.
+     *
+     * @param service interface of service
+     * @return provider, or null if the service has no provider
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T findProvider(Class<? extends T> service) {
+        Object cached = ProviderCache.get(service);
+        if (null != cached) {
+            return ProviderCache.ABSENT == cached ? null : (T) cached;
+        }
+
+        int generation = ProviderCache.generation();
+        // 从 Warehouse.providersIndex 取值拿到 RouteMeta 中存储的 path 和 group
+        Postcard postcard = buildProvider(service.getName());
+
+        // Compatible 1.0.5 compiler sdk.
+        // Earlier versions did not use the fully qualified name to get the service
+        if (null == postcard) {
+            // No service, or this service in old version.
+            postcard = buildProvider(service.getSimpleName());
+        }
+
+        if (null == postcard) {
+            ProviderCache.put(service, ProviderCache.ABSENT, generation);
+            return null;
+        }
+
+        // Set application to postcard.
+        postcard.setContext(mContext);
+
+        // 路由的元数据，不为空，就去实例化对应的路由对象
+        completion(postcard);
+        IProvider provider = postcard.getProvider();
+        ProviderCache.put(service, null == provider ? ProviderCache.ABSENT : provider, generation);
+        return (T) provider;
+    }
+
     /**
      * Build postcard by serviceName
      *
@@ -233,103 +409,136 @@ public class LogisticsCenter {
      * @param postcard Incomplete postcard, should complete by this method.
      *                 不完整的明信片，应按此方法完成。
      */
-    public synchronized static void completion(Postcard postcard) {
+    public static void completion(Postcard postcard) {
         if (null == postcard) {
             throw new NoRouteFoundException(TAG + "No postcard!");
         }
 
+        if (!tryCompletion(postcard)) {
+            throw new NoRouteFoundException(TAG + "There is no route match the path [" + postcard.getPath() + "], in group [" + postcard.getGroup() + "]");
+        }
+    }
+
+    /**
+     * Completion the postcard by route metas, without exception when there is no route.
+     * The paths without route are remembered, see {@link MissingRouteCache}.
+     *
+     * @param postcard Incomplete postcard, should complete by this method.
+     * @return false if there is no route match the path
+     */
+    public static boolean tryCompletion(Postcard postcard) {
+        if (null == postcard) {
+            return false;
+        }
+
         // 获取本次路由的元信息，这个信息是在routes文件夹下对应的类中添加的
+        // Loaded routes are read without lock.
         RouteMeta routeMeta = Warehouse.routes.get(postcard.getPath());
-        if (null == routeMeta) {
+        if (null != routeMeta) {
+            RouteGroupCache.touch(postcard.getGroup());
+        } else if (MissingRouteCache.contains(postcard.getGroup(), postcard.getPath())) {
+            // Known missing, the group needn't be loaded again.
+            return false;
+        }
+        int generation = MissingRouteCache.generation();
+        // In bounded mode, the group maybe evicted by the loads of other threads before its routes are read, load it again.
+        int maxAttempts = RouteGroupCache.isBounded() ? MAX_LOAD_ATTEMPTS_IN_BOUNDED_MODE : 1;
+        for (int attempt = 0; null == routeMeta && attempt < maxAttempts; attempt++) {
             // Maybe its does't exist, or didn't load.
             // 为 null 说明目标类不存在或者是该 group 还未加载过
-            if (!Warehouse.groupsIndex.containsKey(postcard.getGroup())) {
-                // groupMeta 为 null，说明 postcard 的 path 对应的 group 不存在，抛出异常
-                throw new NoRouteFoundException(TAG + "There is no route match the path [" + postcard.getPath() + "], in group [" + postcard.getGroup() + "]");
-            } else {
-                // Load route and cache it into memory, then delete from metas.
-                // 加载路由并缓存到内存中，然后从元数据中删除。
-                try {
-                    if (ARouter.debuggable()) {
-                        logger.debug(TAG, String.format(Locale.getDefault(), "The group [%s] starts loading, trigger by [%s]", postcard.getGroup(), postcard.getPath()));
-                    }
-                    // 会执行到这里，说明此 group 还未加载过，
-                    // 加载 group 对应的所有 path 信息到 Warehouse.routes；
-                    // 并将其从Warehouse.groupsIndex中移除
-                    addRouteGroupDynamic(postcard.getGroup(), null);
+            if (!isGroupKnown(postcard.getGroup())) {
+                // groupMeta 为 null，说明 postcard 的 path 对应的 group 不存在
+                MissingRouteCache.put(postcard.getGroup(), postcard.getPath(), generation);
+                return false;
+            }
 
-                    if (ARouter.debuggable()) {
-                        logger.debug(TAG, String.format(Locale.getDefault(), "The group [%s] has already been loaded, trigger by [%s]", postcard.getGroup(), postcard.getPath()));
-                    }
-                } catch (Exception e) {
-                    throw new HandlerException(TAG + "Fatal exception when loading group meta. [" + e.getMessage() + "]");
+            // Load route and cache it into memory, then delete from metas.
+            // 加载路由并缓存到内存中，然后从元数据中删除。
+            try {
+                if (ARouter.debuggable()) {
+                    logger.debug(TAG, String.format(Locale.getDefault(), "The group [%s] starts loading, trigger by [%s]", postcard.getGroup(), postcard.getPath()));
                 }
-
-                // 因［Warehouse.routes］已经加载好，需再执行一遍，走一下上面的逻辑
-                completion(postcard);   // Reload
+                // 会执行到这里，说明此 group 还未加载过，
+                // 加载 group 对应的所有 path 信息到 Warehouse.routes；
+                // 并将其从Warehouse.groupsIndex中移除
+                // 其他线程同时加载这个组时会等待它加载完成，不影响其他组
+                loadGroupOnce(postcard.getGroup());
+
+                if (ARouter.debuggable()) {
+                    logger.debug(TAG, String.format(Locale.getDefault(), "The group [%s] has already been loaded, trigger by [%s]", postcard.getGroup(), postcard.getPath()));
+                }
+            } catch (Exception e) {
+                throw new HandlerException(TAG + "Fatal exception when loading group meta. [" + e.getMessage() + "]");
             }
-        } else {
-            // 拿到详细的路由信息了，将这些信息存到 postcard 中
-            postcard.setDestination(routeMeta.getDestination());
-            postcard.setType(routeMeta.getType());
-            postcard.setPriority(routeMeta.getPriority());
-            postcard.setExtra(routeMeta.getExtra());
-
-            Uri rawUri = postcard.getUri();
-            if (null != rawUri) {   // Try to set params into bundle.
-                Map<String, String> resultMap = TextUtils.splitQueryParameters(rawUri);
-                Map<String, Integer> paramsType = routeMeta.getParamsType();
-
-                if (MapUtils.isNotEmpty(paramsType)) {
-                    // Set value by its type, just for params which annotation by @Param
-                    for (Map.Entry<String, Integer> params : paramsType.entrySet()) {
-                        setValue(postcard,
-                                params.getValue(),
-                                params.getKey(),
-                                resultMap.get(params.getKey()));
-                    }
 
-                    // Save params name which need auto inject.
-                    postcard.getExtras().putStringArray(ARouter.AUTO_INJECT, paramsType.keySet().toArray(new String[]{}));
+            // 因［Warehouse.routes］已经加载好，再取一遍
+            routeMeta = Warehouse.routes.get(postcard.getPath());
+        }
+        if (null == routeMeta) {
+            MissingRouteCache.put(postcard.getGroup(), postcard.getPath(), generation);
+            return false;
+        }
+
+        // 拿到详细的路由信息了，将这些信息存到 postcard 中
+        postcard.setDestination(routeMeta.getDestination());
+        postcard.setInstantiator(routeMeta.getInstantiator(), routeMeta.getInstantiatorId());
+        postcard.setType(routeMeta.getType());
+        postcard.setPriority(routeMeta.getPriority());
+        postcard.setExtra(routeMeta.getExtra());
+
+        Uri rawUri = postcard.getUri();
+        if (null != rawUri) {   // Try to set params into bundle.
+            Map<String, String> resultMap = TextUtils.splitQueryParameters(rawUri);
+            String[] paramNames = routeMeta.getParamNames();
+            byte[] paramTypes = routeMeta.getParamTypes();
+
+            if (null != paramNames && paramNames.length > 0) {
+                // Set value by its type, just for params which annotation by @Param
+                for (int i = 0; i < paramNames.length; i++) {
+                    setValue(postcard,
+                            (int) paramTypes[i],
+                            paramNames[i],
+                            resultMap.get(paramNames[i]));
                 }
 
-                // Save raw uri
-                postcard.withString(ARouter.RAW_URI, rawUri.toString());
+                // Save params name which need auto inject.
+                postcard.getExtras().putStringArray(ARouter.AUTO_INJECT, paramNames.clone());
             }
 
-            switch (routeMeta.getType()) {
-                case PROVIDER:  // if the route is provider, should find its instance
-                    // Its provider, so it must implement IProvider
-                    // 如果路由是provider，应该找到它的实例
-                    // 它的提供者，所以它必须实现IProvider
-                    Class<? extends IProvider> providerMeta = (Class<? extends IProvider>) routeMeta.getDestination();
-                    IProvider instance = Warehouse.providers.get(providerMeta);
-                    if (null == instance) { // There's no instance of this provider
-                        // instance 等于 null 说明是第一次取值
-                        // 那么就通过反射构建对象，然后将之缓存到 Warehouse.providers 中
-                        IProvider provider;
-                        try {
-                            provider = providerMeta.getConstructor().newInstance();
-                            provider.init(mContext);
-                            Warehouse.providers.put(providerMeta, provider);
-                            instance = provider;
-                        } catch (Exception e) {
-                            logger.error(TAG, "Init provider failed!", e);
-                            throw new HandlerException("Init provider failed!");
-                        }
+            // Save raw uri
+            postcard.withString(ARouter.RAW_URI, rawUri.toString());
+        }
+
+        switch (routeMeta.getType()) {
+            case PROVIDER:  // if the route is provider, should find its instance
+                // Its provider, so it must implement IProvider
+                // 如果路由是provider，应该找到它的实例
+                // 它的提供者，所以它必须实现IProvider
+                Class<? extends IProvider> providerMeta = (Class<? extends IProvider>) routeMeta.getDestination();
+                IProvider instance = Warehouse.providers.get(providerMeta);
+                if (null == instance) { // There's no instance of this provider
+                    // instance 等于 null 说明是第一次取值
+                    // 那么就通过反射构建对象，然后将之缓存到 Warehouse.providers 中
+                    // 同一个 provider 只创建一次，其他线程等待它的 init 完成
+                    try {
+                        instance = createProviderOnce(providerMeta, factoryOf(routeMeta));
+                    } catch (Exception e) {
+                        logger.error(TAG, "Init provider failed!", e);
+                        throw new HandlerException("Init provider failed!");
                     }
-                    // 将获取到的实例存起来
-                    postcard.setProvider(instance);
-                    // 开启绿色通道，也就是不经过拦截器
-                    postcard.greenChannel();    // Provider should skip all of interceptors
-                    break;
-                case FRAGMENT:
-                    // 开启绿色通道，也就是不经过拦截器
-                    postcard.greenChannel();    // Fragment needn't interceptors
-                default:
-                    break;
-            }
+                }
+                // 将获取到的实例存起来
+                postcard.setProvider(instance);
+                // 开启绿色通道，也就是不经过拦截器
+                postcard.greenChannel();    // Provider should skip all of interceptors
+                break;
+            case FRAGMENT:
+                // 开启绿色通道，也就是不经过拦截器
+                postcard.greenChannel();    // Fragment needn't interceptors
+            default:
+                break;
         }
+        return true;
     }
 
     /**
@@ -385,18 +594,264 @@ public class LogisticsCenter {
         Warehouse.clear();
     }
 
-    public synchronized static void addRouteGroupDynamic(String groupName, IRouteGroup group) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
-        if (Warehouse.groupsIndex.containsKey(groupName)){
+    /**
+     * Bounded mode, the least recently used groups are evicted when the count of loaded groups exceeds max,
+     * and will be loaded again when used.
+     *
+     * @param maxLoadedGroups max count of loaded groups, 0 means unbounded.
+     */
+    public static void setMaxLoadedGroups(int maxLoadedGroups) {
+        RouteGroupCache.setMaxGroups(maxLoadedGroups);
+    }
+
+    /**
+     * Trim caches by the level of ComponentCallbacks2, only in bounded mode.
+     * <p>
+     * 1. RUNNING_CRITICAL, BACKGROUND: evict half of loaded groups.
+     * 2. MODERATE: evict all of loaded groups.
+     * 3. RUNNING_LOW and above: also drop the cached syringes of autowired.
+     * <p>
+     * The providers are singletons, they are never dropped, otherwise they would be created and init again.
+     */
+    public static void trimMemory(int level) {
+        if (!RouteGroupCache.isBounded()) {
+            return;
+        }
+
+        int evictedGroups = 0;
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            evictedGroups = RouteGroupCache.trimTo(0);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            evictedGroups = RouteGroupCache.trimTo(RouteGroupCache.loadedCount() / 2);
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            IProvider autowiredService = Warehouse.providers.get(AutowiredServiceImpl.class);
+            if (autowiredService instanceof AutowiredServiceImpl) {
+                ((AutowiredServiceImpl) autowiredService).trimMemory();
+            }
+        }
+
+        if (ARouter.debuggable()) {
+            logger.debug(TAG, String.format(Locale.getDefault(), "Trim memory by level [%d], evict groups [%d], total evictions [%d], reloads [%d]",
+                    level, evictedGroups, RouteGroupCache.evictionCount(), RouteGroupCache.reloadCount()));
+        }
+    }
+
+    /**
+     * Count of groups evicted in bounded mode.
+     */
+    public static long getEvictedGroupCount() {
+        return RouteGroupCache.evictionCount();
+    }
+
+    /**
+     * Count of evicted groups which have been loaded again.
+     */
+    public static long getReloadedGroupCount() {
+        return RouteGroupCache.reloadCount();
+    }
+
+    /**
+     * Invalidate the cached decisions of interceptor, see {@link ICacheableInterceptor}.
+     */
+    public static void invalidateInterceptorDecisions(Class<? extends IInterceptor> interceptorClass) {
+        InterceptorDecisionCache.invalidate(interceptorClass);
+    }
+
+    /**
+     * Invalidate the cached decisions of all interceptors.
+     */
+    public static void invalidateInterceptorDecisions() {
+        InterceptorDecisionCache.invalidateAll();
+    }
+
+    /**
+     * Count of interceptors skipped by cached decisions.
+     */
+    public static long getInterceptorDecisionHitCount() {
+        return InterceptorDecisionCache.hitCount();
+    }
+
+    /**
+     * Count of cacheable interceptors processed without cached decision.
+     */
+    public static long getInterceptorDecisionMissCount() {
+        return InterceptorDecisionCache.missCount();
+    }
+
+    /**
+     * Queue depth, wait time and rejections of the lane, null before init.
+     */
+    public static LaneExecutor.Stats getExecutorStats(LaneExecutor.Lane lane) {
+        LaneExecutor laneExecutor = executor;
+        return null == laneExecutor ? null : laneExecutor.getStats(lane);
+    }
+
+    /**
+     * The group is contained by route manifest and hasn't been loaded.
+     */
+    private static boolean isInManifest(String groupName) {
+        RouteManifest manifest = Warehouse.routeManifest;
+        return null != manifest && manifest.containsGroup(groupName);
+    }
+
+    /**
+     * The group is waiting for loading, is loading or has been loaded.
+     */
+    private static boolean isGroupKnown(String groupName) {
+        return Warehouse.groupsIndex.containsKey(groupName) || isInManifest(groupName) || Warehouse.groupLoaders.containsKey(groupName);
+    }
+
+    /**
+     * Load the routes of group into Warehouse.routes, every group is loaded only once.
+     * The threads which want the same group wait for it, other groups won't be blocked.
+     */
+    private static void loadGroupOnce(final String groupName) throws Exception {
+        LoadOnceFuture.load(Warehouse.groupLoaders, groupName, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                // Load into a temp map, then publish the routes of group at once.
+                Map<String, RouteMeta> atlas = new HashMap<>();
+                boolean fromManifest = false;
+                if (isInManifest(groupName)) {
+                    // Decode the group from route manifest, it won't be decoded again unless evicted.
+                    fromManifest = Warehouse.routeManifest.loadGroup(groupName, atlas);
+                }
+
+                IRouteGroupFactory factory = Warehouse.groupsIndex.get(groupName);
+                if (null != factory) {
+                    IRouteGroup groupMeta = factory.createGroup(groupName);
+                    if (null == groupMeta) {
+                        throw new HandlerException(TAG + "The factory of group [" + groupName + "] can't create it.");
+                    }
+                    groupMeta.loadInto(atlas);
+                }
+
+                // Remember how to load it again, cold groups maybe evicted in bounded mode.
+                RouteGroupCache.publish(groupName, atlas, factory, fromManifest);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Get the provider by the services locator generated by arouter-compiler, it's same instance as navigation.
+     *
+     * @param providerMeta class of provider
+     * @param factory      create the provider without reflection
+     */
+    public static IProvider getProvider(Class<? extends IProvider> providerMeta, IProviderFactory factory) {
+        if (null == mContext) {
+            throw new InitException("ARouter::Init::Invoke init(context) first!");
+        }
+
+        IProvider instance = Warehouse.providers.get(providerMeta);
+        if (null == instance) {
+            try {
+                instance = createProviderOnce(providerMeta, factory);
+            } catch (Exception e) {
+                logger.error(TAG, "Init provider failed!", e);
+                throw new HandlerException("Init provider failed!");
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Generation of cached providers, it changes when ARouter is destroyed,
+     * the providers kept by services locator of older generation are got again.
+     */
+    public static int getGeneration() {
+        return Warehouse.generation;
+    }
+
+    /**
+     * Create and init the provider, every provider is created only once.
+     * The threads which want the same provider wait for its init.
+     *
+     * @param factory create the provider, by generated code or reflection
+     */
+    private static IProvider createProviderOnce(final Class<? extends IProvider> providerMeta, final IProviderFactory factory) throws Exception {
+        return LoadOnceFuture.load(Warehouse.providerLoaders, providerMeta, new Callable<IProvider>() {
+            @Override
+            public IProvider call() throws Exception {
+                IProvider provider = factory.create();
+                provider.init(mContext);
+                Warehouse.providers.put(providerMeta, provider);
+                return provider;
+            }
+        });
+    }
+
+    /**
+     * Factory of provider by the instantiator of route, it's reflection if the route is generated by old version of arouter-compiler.
+     */
+    private static IProviderFactory factoryOf(final RouteMeta routeMeta) {
+        return new IProviderFactory() {
+            @Override
+            public IProvider create() {
+                try {
+                    return (IProvider) routeMeta.newInstance();
+                } catch (Exception e) {
+                    throw new HandlerException(TAG + "Create provider [" + routeMeta.getDestination().getName() + "] failed! [" + e.getMessage() + "]");
+                }
+            }
+        };
+    }
+
+    /**
+     * Init the provider created by {@link ProviderInitializer}, it's dropped if the provider exists.
+     *
+     * @param routeMeta meta of provider in index
+     * @param instance  provider without init, null means by the meta
+     */
+    static IProvider createProvider(RouteMeta routeMeta, final IProvider instance) throws Exception {
+        @SuppressWarnings("unchecked")
+        Class<? extends IProvider> providerMeta = (Class<? extends IProvider>) routeMeta.getDestination();
+        return createProviderOnce(providerMeta, null == instance ? factoryOf(routeMeta) : new IProviderFactory() {
+            @Override
+            public IProvider create() {
+                return instance;
+            }
+        });
+    }
+
+    /**
+     * Future of the provider of service, it's done when the provider has been initialized.
+     * The eager providers are initialized by ARouter init, others are found in background.
+     *
+     * @param service interface of service
+     */
+    public static <T> Future<T> getProviderFuture(Class<? extends T> service) {
+        if (null == mContext) {
+            throw new InitException("ARouter::Init::Invoke init(context) first!");
+        }
+
+        return ProviderInitializer.futureOf(service, executor.lane(LaneExecutor.Lane.STARTUP));
+    }
+
+    public static void addRouteGroupDynamic(String groupName, IRouteGroup group) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException, ClassNotFoundException {
+        if (isGroupKnown(groupName)){
             // If this group is included, but it has not been loaded
             // load this group first, because dynamic route has high priority.
             // 如果该组已经包含，但还没有加载，则先加载该组，因为动态路由优先级高。
-            Warehouse.groupsIndex.get(groupName).getConstructor().newInstance().loadInto(Warehouse.routes);
-            Warehouse.groupsIndex.remove(groupName);
+            try {
+                loadGroupOnce(groupName);
+            } catch (Exception e) {
+                throw new HandlerException(TAG + "Load group [" + groupName + "] failed! [" + e.getMessage() + "]");
+            }
         }
 
         // cover old group.
         if (null != group) {
-            group.loadInto(Warehouse.routes);
+            // Dynamic routes can't be loaded again, keep this group.
+            RouteGroupCache.pin(groupName);
+            Map<String, RouteMeta> atlas = new HashMap<>();
+            group.loadInto(atlas);
+            Warehouse.routes.putAll(atlas);
+            // The routes of services maybe covered.
+            ProviderCache.invalidateAll();
+            MissingRouteCache.invalidateAll();
         }
     }
 }
@@ -0,0 +1,62 @@
+package com.alibaba.android.arouter.core;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Paths which have no route, so the repeated miss is a read of concurrent map, without loading group again.
+ * <p>
+ * It's bounded, one of paths is dropped when it's full. The cache is cleared when the routes change,
+ * the misses found before it are not cached.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class MissingRouteCache {
+    private static final int MAX_SIZE = 256;
+
+    // 没有路由的 path -> 它的 group
+    private static final ConcurrentMap<String, String> paths = new ConcurrentHashMap<>();
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    static int generation() {
+        return generation.get();
+    }
+
+    /**
+     * @return true if the path in group is known missing.
+     */
+    static boolean contains(String group, String path) {
+        String missingGroup = paths.get(path);
+        return null != missingGroup && missingGroup.equals(group);
+    }
+
+    /**
+     * @param generation generation before the route was looked up
+     */
+    static void put(String group, String path, int generation) {
+        if (null == group || null == path || MissingRouteCache.generation.get() != generation) {
+            return;
+        }
+
+        if (paths.size() >= MAX_SIZE) {
+            Iterator<String> iterator = paths.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        paths.put(path, group);
+        if (MissingRouteCache.generation.get() != generation) {
+            // Invalidated meanwhile.
+            paths.remove(path, group);
+        }
+    }
+
+    static void invalidateAll() {
+        generation.incrementAndGet();
+        paths.clear();
+    }
+}
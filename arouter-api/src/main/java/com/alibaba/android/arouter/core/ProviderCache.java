@@ -0,0 +1,55 @@
+package com.alibaba.android.arouter.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolved providers by the class of service, including the services which are absent.
+ * <p>
+ * The lookup is a read of concurrent map without lock or allocation. The cache is cleared when the
+ * providers or routes change, the providers resolved before it are not cached.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class ProviderCache {
+    // The service has no provider.
+    static final Object ABSENT = new Object();
+
+    // 服务的类 -> provider 实例或 ABSENT
+    private static final ConcurrentMap<Class<?>, Object> providers = new ConcurrentHashMap<>();
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    static int generation() {
+        return generation.get();
+    }
+
+    /**
+     * @return provider, {@link #ABSENT}, or null if it's not cached.
+     */
+    static Object get(Class<?> service) {
+        return providers.get(service);
+    }
+
+    /**
+     * @param provider   provider, or {@link #ABSENT}
+     * @param generation generation before the provider was resolved
+     */
+    static void put(Class<?> service, Object provider, int generation) {
+        if (ProviderCache.generation.get() != generation) {
+            return;
+        }
+
+        providers.put(service, provider);
+        if (ProviderCache.generation.get() != generation) {
+            // Invalidated meanwhile.
+            providers.remove(service, provider);
+        }
+    }
+
+    static void invalidateAll() {
+        generation.incrementAndGet();
+        providers.clear();
+    }
+}
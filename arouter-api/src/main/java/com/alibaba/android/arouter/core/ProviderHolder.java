@@ -0,0 +1,20 @@
+package com.alibaba.android.arouter.core;
+
+/**
+ * Provider kept by services locator with the generation it was got in.
+ * <p>
+ * It's immutable and published by one volatile field, so the provider and its generation are always read as a pair,
+ * the provider of older generation is never taken as current one.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public final class ProviderHolder<T> {
+    public final T provider;
+    public final int generation;
+
+    public ProviderHolder(T provider, int generation) {
+        this.provider = provider;
+        this.generation = generation;
+    }
+}
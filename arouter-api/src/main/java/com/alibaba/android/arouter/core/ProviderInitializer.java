@@ -0,0 +1,316 @@
+package com.alibaba.android.arouter.core;
+
+import com.alibaba.android.arouter.facade.model.RouteMeta;
+import com.alibaba.android.arouter.facade.template.IEagerProvider;
+import com.alibaba.android.arouter.facade.template.IProvider;
+import com.alibaba.android.arouter.launcher.ARouter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.alibaba.android.arouter.launcher.ARouter.logger;
+import static com.alibaba.android.arouter.utils.Consts.TAG;
+
+/**
+ * Init {@link IEagerProvider} in background by the graph of dependencies.
+ * <p>
+ * Every provider is a node, it's executed when all of its dependencies are done, so the independent providers
+ * are initialized in parallel. The providers are created once by {@link LoadOnceFuture}, a navigation of provider
+ * only waits for the provider itself, or creates it in caller thread if its node hasn't started.
+ * The providers in a cycle are not initialized eagerly.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class ProviderInitializer {
+    // 提供者的类 -> 节点，发布后不再改变
+    private static volatile Map<Class<?>, Node> nodes = Collections.emptyMap();
+
+    /**
+     * Build the graph and init providers in executor.
+     */
+    static void start(final Executor executor) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                schedule(executor);
+            }
+        });
+    }
+
+    /**
+     * Future of the provider of service, it waits for the node if the provider is eager,
+     * otherwise the provider is found in executor.
+     * The future of node can't be canceled by caller, or the init is interrupted and its dependents start early.
+     */
+    static <T> Future<T> futureOf(final Class<? extends T> service, Executor executor) {
+        RouteMeta meta = providerOf(service);
+        Node node = null == meta ? null : nodes.get(meta.getDestination());
+        if (null != node && !node.isDone()) {
+            @SuppressWarnings("unchecked")
+            Future<T> future = (Future<T>) node;
+            return new ReadOnlyFuture<>(future);
+        }
+
+        FutureTask<T> task = new FutureTask<>(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return LogisticsCenter.findProvider(service);
+            }
+        });
+        if (null == node && null != executor) {
+            executor.execute(task);
+        } else {
+            // Initialized already, it's a lookup in cache.
+            task.run();
+        }
+        return task;
+    }
+
+    static void clear() {
+        nodes = Collections.emptyMap();
+    }
+
+    private static void schedule(Executor executor) {
+        long startTime = System.nanoTime();
+        Map<Class<?>, Node> graph = new HashMap<>();
+
+        // Eager providers and the providers they depend on.
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        for (RouteMeta meta : Warehouse.providersIndex.values()) {
+            Class<?> destination = meta.getDestination();
+            if (null != destination && IEagerProvider.class.isAssignableFrom(destination) && !graph.containsKey(destination)) {
+                Node node = new Node(meta);
+                graph.put(destination, node);
+                queue.add(node);
+            }
+        }
+        if (graph.isEmpty()) {
+            return;
+        }
+
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            Class<?>[] dependencies;
+            try {
+                // Created without init, it will be initialized after its dependencies.
+                node.instance = (IProvider) node.meta.newInstance();
+                dependencies = ((IEagerProvider) node.instance).dependsOn();
+            } catch (Exception e) {
+                logger.error(TAG, "Create eager provider [" + node.providerClass.getName() + "] failed!", e);
+                continue;
+            }
+            if (null == dependencies) {
+                continue;
+            }
+
+            for (Class<?> dependency : dependencies) {
+                RouteMeta dependencyMeta = null == dependency ? null : providerOf(dependency);
+                if (null == dependencyMeta) {
+                    logger.warning(TAG, "Dependency [" + dependency + "] of provider [" + node.providerClass.getName() + "] is not found.");
+                    continue;
+                }
+
+                Class<?> dependencyClass = dependencyMeta.getDestination();
+                Node dependencyNode = graph.get(dependencyClass);
+                if (null == dependencyNode) {
+                    dependencyNode = new Node(dependencyMeta);
+                    graph.put(dependencyClass, dependencyNode);
+                    if (IEagerProvider.class.isAssignableFrom(dependencyClass)) {
+                        queue.add(dependencyNode);
+                    }
+                }
+                if (dependencyNode != node && node.dependencies.add(dependencyNode)) {
+                    dependencyNode.dependents.add(node);
+                }
+            }
+        }
+
+        List<Node> ready = new ArrayList<>();
+        Set<Node> cyclic = findCyclic(graph, ready);
+        if (!cyclic.isEmpty()) {
+            StringBuilder names = new StringBuilder();
+            for (Node node : cyclic) {
+                graph.remove(node.providerClass);
+                names.append(' ').append(node.providerClass.getName());
+            }
+            logger.error(TAG, "Providers depend on each other, they will be initialized when used:" + names);
+        }
+
+        final AtomicInteger remaining = new AtomicInteger(graph.size());
+        for (Node node : graph.values()) {
+            node.executor = executor;
+            node.startTime = startTime;
+            node.remaining = remaining;
+            node.pending.set(node.dependencies.size());
+        }
+        nodes = graph;
+
+        for (Node node : ready) {
+            executor.execute(node);
+        }
+    }
+
+    /**
+     * Sort the graph topologically.
+     *
+     * @param ready the nodes without dependencies
+     * @return the nodes in cycles, and the nodes depend on them
+     */
+    private static Set<Node> findCyclic(Map<Class<?>, Node> graph, List<Node> ready) {
+        Map<Node, Integer> inDegrees = new HashMap<>();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        for (Node node : graph.values()) {
+            inDegrees.put(node, node.dependencies.size());
+            if (node.dependencies.isEmpty()) {
+                queue.add(node);
+                ready.add(node);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            inDegrees.remove(node);
+            for (Node dependent : node.dependents) {
+                Integer inDegree = inDegrees.get(dependent);
+                if (null != inDegree) {
+                    inDegrees.put(dependent, inDegree - 1);
+                    if (inDegree == 1) {
+                        queue.add(dependent);
+                    }
+                }
+            }
+        }
+        return inDegrees.keySet();
+    }
+
+    /**
+     * Meta of the provider of service, or the provider itself.
+     */
+    private static RouteMeta providerOf(Class<?> service) {
+        RouteMeta meta = Warehouse.providersIndex.get(service.getName());
+        if (null == meta) {
+            meta = Warehouse.providersIndex.get(service.getSimpleName());
+        }
+        if (null == meta && IProvider.class.isAssignableFrom(service) && !service.isInterface()) {
+            for (RouteMeta provider : Warehouse.providersIndex.values()) {
+                if (provider.getDestination() == service) {
+                    return provider;
+                }
+            }
+        }
+        return meta;
+    }
+
+    /**
+     * Future which can't be canceled, it only waits for the result of others.
+     */
+    private static class ReadOnlyFuture<T> implements Future<T> {
+        private final Future<T> future;
+
+        ReadOnlyFuture(Future<T> future) {
+            this.future = future;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            return future.get();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return future.get(timeout, unit);
+        }
+    }
+
+    /**
+     * Init of one provider, it starts the dependents which are ready when it's done.
+     */
+    private static class Node extends FutureTask<IProvider> {
+        final RouteMeta meta;
+        final Class<?> providerClass;
+        final Set<Node> dependencies = new LinkedHashSet<>();
+        final List<Node> dependents = new ArrayList<>();
+        final AtomicInteger pending = new AtomicInteger();
+        // Created by graph, null means by the meta.
+        volatile IProvider instance;
+        volatile Executor executor;
+        volatile AtomicInteger remaining;
+        volatile long startTime;
+
+        Node(RouteMeta meta) {
+            super(new Callable<IProvider>() {
+                @Override
+                public IProvider call() throws Exception {
+                    throw new IllegalStateException();
+                }
+            });
+            this.meta = meta;
+            this.providerClass = meta.getDestination();
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                set(LogisticsCenter.createProvider(meta, instance));
+            } catch (Throwable ex) {
+                logger.error(TAG, "Init eager provider [" + providerClass.getName() + "] failed!", ex);
+                setException(ex);
+            }
+            if (ARouter.debuggable()) {
+                logger.debug(TAG, String.format(Locale.getDefault(), "Provider [%s] init in [%d]us, thread [%s]",
+                        providerClass.getName(), TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), Thread.currentThread().getName()));
+            }
+        }
+
+        @Override
+        protected void done() {
+            // The dependents are initialized even though this one failed, they maybe retry it.
+            for (Node dependent : dependents) {
+                if (dependent.pending.decrementAndGet() == 0) {
+                    executor.execute(dependent);
+                }
+            }
+
+            if (remaining.decrementAndGet() == 0) {
+                logger.info(TAG, String.format(Locale.getDefault(), "ARouter eager providers init over, [%d] providers in [%d]ms.",
+                        nodes.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.alibaba.android.arouter.core;
+
+import com.alibaba.android.arouter.facade.model.RouteMeta;
+import com.alibaba.android.arouter.facade.template.IRouteGroupFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups which have been loaded, in access order.
+ * <p>
+ * In bounded mode, the cold groups are evicted back to their index entry or route manifest,
+ * and will be loaded again when they are used. The groups which contain dynamic routes are pinned,
+ * because dynamic routes can't be loaded again.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class RouteGroupCache {
+    // 已加载的组，按访问顺序，最久未使用的在前
+    private static final LinkedHashMap<String, LoadedGroup> loadedGroups = new LinkedHashMap<>(16, .75f, true);
+    // 含有动态路由的组，不会被淘汰
+    private static final Set<String> pinnedGroups = new HashSet<>();
+    // 被淘汰过的组，再次加载时计数
+    private static final Set<String> evictedGroups = new HashSet<>();
+    // Max count of loaded groups, 0 means unbounded.
+    private static volatile int maxGroups = 0;
+
+    private static long evictionCount;
+    private static long reloadCount;
+
+    static boolean isBounded() {
+        return maxGroups > 0;
+    }
+
+    /**
+     * Enable bounded mode, or disable it by 0.
+     */
+    static synchronized void setMaxGroups(int max) {
+        maxGroups = Math.max(0, max);
+        if (maxGroups > 0) {
+            trimTo(maxGroups);
+        }
+    }
+
+    /**
+     * Publish the routes of group, and remove it from index.
+     *
+     * @param factory      factory of group in index, maybe null
+     * @param fromManifest the group has been decoded from route manifest
+     */
+    static synchronized void publish(String groupName, Map<String, RouteMeta> atlas, IRouteGroupFactory factory, boolean fromManifest) {
+        // Routes must be put before the group is removed from index.
+        Warehouse.routes.putAll(atlas);
+        if (null != factory) {
+            Warehouse.groupsIndex.remove(groupName);
+        }
+
+        // Only the group which can be loaded again is evictable.
+        if ((null != factory || fromManifest) && !pinnedGroups.contains(groupName)) {
+            loadedGroups.put(groupName, new LoadedGroup(atlas.keySet().toArray(new String[atlas.size()]), factory, fromManifest));
+        }
+        if (evictedGroups.remove(groupName)) {
+            reloadCount++;
+        }
+
+        if (maxGroups > 0) {
+            trimTo(maxGroups);
+        }
+    }
+
+    /**
+     * Mark the group is used, only in bounded mode.
+     */
+    static void touch(String groupName) {
+        if (maxGroups > 0) {
+            synchronized (RouteGroupCache.class) {
+                loadedGroups.get(groupName);
+            }
+        }
+    }
+
+    /**
+     * The group contains dynamic routes, it won't be evicted.
+     */
+    static synchronized void pin(String groupName) {
+        pinnedGroups.add(groupName);
+        loadedGroups.remove(groupName);
+    }
+
+    /**
+     * Evict the least recently used groups, until the count of loaded groups is not greater than max.
+     *
+     * @return count of evicted groups
+     */
+    static synchronized int trimTo(int max) {
+        int evicted = 0;
+        Iterator<Map.Entry<String, LoadedGroup>> iterator = loadedGroups.entrySet().iterator();
+        while (loadedGroups.size() > max && iterator.hasNext()) {
+            Map.Entry<String, LoadedGroup> entry = iterator.next();
+            iterator.remove();
+            evict(entry.getKey(), entry.getValue());
+            evicted++;
+        }
+        return evicted;
+    }
+
+    static synchronized int loadedCount() {
+        return loadedGroups.size();
+    }
+
+    static synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    static synchronized long reloadCount() {
+        return reloadCount;
+    }
+
+    static synchronized void clear() {
+        loadedGroups.clear();
+        pinnedGroups.clear();
+        evictedGroups.clear();
+    }
+
+    private static void evict(String groupName, LoadedGroup group) {
+        // Restore the index first, then the threads which miss the routes will load the group again.
+        if (null != group.factory) {
+            Warehouse.groupsIndex.put(groupName, group.factory);
+        }
+        RouteManifest manifest = Warehouse.routeManifest;
+        if (group.fromManifest && null != manifest) {
+            manifest.unloadGroup(groupName);
+        }
+        Warehouse.groupLoaders.remove(groupName);
+        Warehouse.routes.removeAll(Arrays.asList(group.paths));
+
+        evictedGroups.add(groupName);
+        evictionCount++;
+    }
+
+    private static class LoadedGroup {
+        final String[] paths;
+        final IRouteGroupFactory factory;
+        final boolean fromManifest;
+
+        LoadedGroup(String[] paths, IRouteGroupFactory factory, boolean fromManifest) {
+            this.paths = paths;
+            this.factory = factory;
+            this.fromManifest = fromManifest;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.alibaba.android.arouter.core;
+
+import com.alibaba.android.arouter.exception.HandlerException;
+import com.alibaba.android.arouter.facade.template.IRouteGroup;
+import com.alibaba.android.arouter.facade.template.IRouteGroupFactory;
+
+import static com.alibaba.android.arouter.utils.Consts.TAG;
+
+/**
+ * Create group by reflection, for roots generated by old version of arouter-compiler,
+ * which only put the class of group.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class RouteGroupClassFactory implements IRouteGroupFactory {
+    private final Class<? extends IRouteGroup> groupClass;
+
+    RouteGroupClassFactory(Class<? extends IRouteGroup> groupClass) {
+        this.groupClass = groupClass;
+    }
+
+    @Override
+    public IRouteGroup createGroup(String groupName) {
+        try {
+            return groupClass.getConstructor().newInstance();
+        } catch (Exception e) {
+            throw new HandlerException(TAG + "Create group [" + groupName + "] failed! [" + e.getMessage() + "]");
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.alibaba.android.arouter.core;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import com.alibaba.android.arouter.facade.enums.RouteType;
+import com.alibaba.android.arouter.facade.model.RouteMeta;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.alibaba.android.arouter.launcher.ARouter.logger;
+import static com.alibaba.android.arouter.utils.Consts.AROUTER_MANIFEST_ASSET;
+import static com.alibaba.android.arouter.utils.Consts.TAG;
+
+/**
+ * Route manifest merged by arouter-register plugin, which contains every route group of app.
+ * <p>
+ * The asset is memory mapped when it's stored uncompressed, only the group table is read at init,
+ * and the routes of group will be decoded when the group is used for the first time.
+ * <p>
+ * Layout, big endian:
+ * <pre>
+ * magic(4) | version(4)
+ * string count(4) | string offsets(4 * count) | string data length(4) | string data, [length(2) | utf-8 bytes]
+ * module count(4) | module name index(4 * count)
+ * group count(4) | group name index(4) | routes offset(4) | route count(4) ...
+ * routes length(4) | routes, [path index(4) | type(1) | destination index(4) | priority(4) | extra(4) | param count(2) | [name index(4) | type(1)] ...]
+ * </pre>
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class RouteManifest {
+    private static final int MAGIC = 0x4152524D;    // ARRM
+    private static final int VERSION = 1;
+    private static final RouteType[] ROUTE_TYPES = RouteType.values();
+
+    private final ByteBuffer buffer;
+    private final int stringOffsetsStart;
+    private final int stringDataStart;
+    private final int routesStart;
+    private final Set<String> modules;
+    // Group name and [routes offset, route count], removed after loaded.
+    private final Map<String, int[]> groups;
+    // Groups have been loaded, they can be unloaded when evicted.
+    private final Map<String, int[]> loadedGroups = new HashMap<>();
+
+    private RouteManifest(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Bad magic of route manifest.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported route manifest version " + buffer.getInt(4));
+        }
+
+        int offset = 8;
+        int stringCount = buffer.getInt(offset);
+        stringOffsetsStart = offset + 4;
+        offset = stringOffsetsStart + stringCount * 4;
+        int stringDataLength = buffer.getInt(offset);
+        stringDataStart = offset + 4;
+        offset = stringDataStart + stringDataLength;
+
+        int moduleCount = buffer.getInt(offset);
+        offset += 4;
+        modules = new HashSet<>(moduleCount * 2);
+        for (int i = 0; i < moduleCount; i++) {
+            modules.add(string(buffer.getInt(offset)));
+            offset += 4;
+        }
+
+        int groupCount = buffer.getInt(offset);
+        offset += 4;
+        groups = new HashMap<>(Math.max(16, (int) (groupCount / .75f) + 1));
+        for (int i = 0; i < groupCount; i++) {
+            groups.put(string(buffer.getInt(offset)), new int[]{buffer.getInt(offset + 4), buffer.getInt(offset + 8)});
+            offset += 12;
+        }
+
+        routesStart = offset + 4;
+        if (routesStart + buffer.getInt(offset) > buffer.limit()) {
+            throw new IOException("Route manifest is truncated.");
+        }
+    }
+
+    /**
+     * Open the route manifest in assets.
+     *
+     * @return manifest, or null if the app doesn't contain it.
+     */
+    static RouteManifest open(Context context) {
+        AssetManager assets = context.getAssets();
+        try {
+            ByteBuffer buffer;
+            try {
+                // Stored uncompressed, map it.
+                AssetFileDescriptor afd = assets.openFd(AROUTER_MANIFEST_ASSET);
+                FileInputStream input = afd.createInputStream();
+                try {
+                    buffer = input.getChannel().map(FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getDeclaredLength());
+                } finally {
+                    input.close();
+                }
+            } catch (FileNotFoundException e) {
+                // Missing or compressed, it can't be opened as file descriptor.
+                buffer = readFully(assets);
+            }
+
+            if (null == buffer) {
+                return null;
+            }
+            return new RouteManifest(buffer);
+        } catch (Exception e) {
+            logger.warning(TAG, "Open route manifest failed, use generated classes instead. [" + e.getMessage() + "]");
+            return null;
+        }
+    }
+
+    private static ByteBuffer readFully(AssetManager assets) throws IOException {
+        InputStream input;
+        try {
+            input = assets.open(AROUTER_MANIFEST_ASSET);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+
+        try {
+            byte[] data = new byte[Math.max(input.available(), 1024)];
+            int length = 0;
+            int read;
+            while ((read = input.read(data, length, data.length - length)) != -1) {
+                length += read;
+                if (length == data.length) {
+                    byte[] larger = new byte[data.length * 2];
+                    System.arraycopy(data, 0, larger, 0, length);
+                    data = larger;
+                }
+            }
+            return ByteBuffer.wrap(data, 0, length).slice();
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * If the routes of this module are contained, its root needn't be loaded.
+     *
+     * @param moduleName name of module, the suffix of root class
+     */
+    boolean containsModule(String moduleName) {
+        return modules.contains(moduleName);
+    }
+
+    /**
+     * The group which hasn't been loaded.
+     */
+    synchronized boolean containsGroup(String groupName) {
+        return groups.containsKey(groupName);
+    }
+
+    synchronized int groupCount() {
+        return groups.size();
+    }
+
+    /**
+     * Decode the routes of group into atlas, every group will be decoded only once.
+     *
+     * @return false if the group is not contained or has been loaded.
+     */
+    synchronized boolean loadGroup(String groupName, Map<String, RouteMeta> atlas) throws ClassNotFoundException {
+        int[] group = groups.get(groupName);
+        if (null == group) {
+            return false;
+        }
+
+        int offset = routesStart + group[0];
+        int routeCount = group[1];
+        ClassLoader classLoader = RouteManifest.class.getClassLoader();
+        // Same as generated group, path and group of meta are lower case, group is shared by routes.
+        String groupOfMeta = groupName.toLowerCase().intern();
+        for (int i = 0; i < routeCount; i++) {
+            String path = string(buffer.getInt(offset));
+            int type = buffer.get(offset + 4);
+            String destination = string(buffer.getInt(offset + 5));
+            int priority = buffer.getInt(offset + 9);
+            int extra = buffer.getInt(offset + 13);
+            int paramCount = buffer.getShort(offset + 17) & 0xFFFF;
+            offset += 19;
+
+            String[] paramNames = null;
+            byte[] paramTypes = null;
+            if (paramCount > 0) {
+                paramNames = new String[paramCount];
+                paramTypes = new byte[paramCount];
+                for (int j = 0; j < paramCount; j++) {
+                    // Names of params are repeated by lots of routes.
+                    paramNames[j] = string(buffer.getInt(offset)).intern();
+                    paramTypes[j] = buffer.get(offset + 4);
+                    offset += 5;
+                }
+            }
+
+            atlas.put(path, RouteMeta.build(
+                    type < 0 || type >= ROUTE_TYPES.length ? RouteType.UNKNOWN : ROUTE_TYPES[type],
+                    Class.forName(destination, false, classLoader),
+                    path.toLowerCase(),
+                    groupOfMeta,
+                    paramNames,
+                    paramTypes,
+                    priority,
+                    extra));
+        }
+
+        loadedGroups.put(groupName, groups.remove(groupName));
+        return true;
+    }
+
+    /**
+     * The routes of group have been evicted, it will be decoded again when used.
+     */
+    synchronized void unloadGroup(String groupName) {
+        int[] group = loadedGroups.remove(groupName);
+        if (null != group) {
+            groups.put(groupName, group);
+        }
+    }
+
+    private String string(int index) {
+        int offset = stringDataStart + buffer.getInt(stringOffsetsStart + index * 4);
+        int length = buffer.getShort(offset) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + 2 + i);
+        }
+
+        try {
+            return new String(bytes, "UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
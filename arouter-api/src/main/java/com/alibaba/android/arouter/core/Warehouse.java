@@ -1,15 +1,18 @@
 package com.alibaba.android.arouter.core;
 
+import com.alibaba.android.arouter.base.CopyOnWriteMap;
 import com.alibaba.android.arouter.base.UniqueKeyTreeMap;
+import com.alibaba.android.arouter.facade.model.InterceptorScope;
+import com.alibaba.android.arouter.facade.model.Instantiator;
 import com.alibaba.android.arouter.facade.model.RouteMeta;
 import com.alibaba.android.arouter.facade.template.IInterceptor;
 import com.alibaba.android.arouter.facade.template.IProvider;
-import com.alibaba.android.arouter.facade.template.IRouteGroup;
+import com.alibaba.android.arouter.facade.template.IRouteGroupFactory;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Storage of route meta and other data.
@@ -21,24 +24,49 @@ import java.util.Map;
 class Warehouse {
     // Cache route and metas
     // 还未加载的组（IRouteGroup）
-    static Map<String, Class<? extends IRouteGroup>> groupsIndex = new HashMap<>();
+    // Route tables are read mostly, readers use the snapshot without lock, writers put a batch at once.
+    static Map<String, IRouteGroupFactory> groupsIndex = new CopyOnWriteMap<>();
+    // 插件合并的路由清单，按组懒加载
+    static volatile RouteManifest routeManifest;
     // 已经加载的个体（RouteMeta）
-    static Map<String, RouteMeta> routes = new HashMap<>();
+    static CopyOnWriteMap<String, RouteMeta> routes = new CopyOnWriteMap<>();
+    // 正在加载或已加载的组，每个组只加载一次
+    static ConcurrentMap<String, LoadOnceFuture<Void>> groupLoaders = new ConcurrentHashMap<>();
 
     // Cache provider
-    static Map<Class, IProvider> providers = new HashMap<>();
-    static Map<String, RouteMeta> providersIndex = new HashMap<>();
+    static CopyOnWriteMap<Class, IProvider> providers = new CopyOnWriteMap<>();
+    static Map<String, RouteMeta> providersIndex = new CopyOnWriteMap<>();
+    static ConcurrentMap<Class, LoadOnceFuture<IProvider>> providerLoaders = new ConcurrentHashMap<>();
 
     // Cache interceptor
     static Map<Integer, Class<? extends IInterceptor>> interceptorsIndex = new UniqueKeyTreeMap<>("More than one interceptors use same priority [%s]");
-    static List<IInterceptor> interceptors = new ArrayList<>();
+    // 拦截器的作用范围，没有声明范围的拦截器不在其中
+    static Map<Integer, InterceptorScope> interceptorScopes = new HashMap<>();
+    // 拦截器的构造代码，由 arouter-compiler 生成，id 为优先级，旧版本生成的拦截器不在其中
+    static Map<Integer, Instantiator> interceptorInstantiators = new HashMap<>();
+    // Immutable, published at once after all of interceptors init.
+    static volatile InterceptorTable interceptors = InterceptorTable.EMPTY;
+
+    // 每次清空后加一，缓存在 ARouter 之外的 provider 需要重新获取
+    static volatile int generation;
 
     static void clear() {
+        generation++;
         routes.clear();
         groupsIndex.clear();
+        routeManifest = null;
+        groupLoaders.clear();
+        RouteGroupCache.clear();
+        MissingRouteCache.invalidateAll();
         providers.clear();
+        providerLoaders.clear();
+        ProviderInitializer.clear();
         providersIndex.clear();
-        interceptors.clear();
+        ProviderCache.invalidateAll();
+        interceptors = InterceptorTable.EMPTY;
         interceptorsIndex.clear();
+        interceptorScopes.clear();
+        interceptorInstantiators.clear();
+        InterceptorDecisionCache.invalidateAll();
     }
 }
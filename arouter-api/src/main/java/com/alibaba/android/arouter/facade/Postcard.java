@@ -19,6 +19,7 @@ import com.alibaba.android.arouter.launcher.ARouter;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A container that contains the roadmap.
@@ -35,7 +36,8 @@ public final class Postcard extends RouteMeta {
     private Object tag;             // A tag prepare for some thing wrong. inner params, DO NOT USE!
     private Bundle mBundle;         // Data to transform
     private int flags = 0;         // Flags of route
-    private int timeout = 300;      // Navigation timeout, TimeUnit.Second
+    private long timeoutMillis = 300 * 1000;    // Navigation timeout, TimeUnit.MILLISECONDS
+    private volatile long deadline;             // Deadline of navigation by System.nanoTime(), 0 means not started
     private IProvider provider;     // It will be set value, if this postcard was provider.
     private boolean greenChannel;
     private SerializationService serializationService;
@@ -100,21 +102,73 @@ public final class Postcard extends RouteMeta {
         return mBundle;
     }
 
+    /**
+     * Timeout of navigation, in seconds, rounded up, so a timeout less than one second isn't 0.
+     *
+     * @deprecated use {@link #getTimeoutMillis()}
+     */
+    @Deprecated
     public int getTimeout() {
-        return timeout;
+        return (int) Math.min(Integer.MAX_VALUE, (timeoutMillis + 999) / 1000);
     }
 
     /**
      * Set timeout of navigation this time.
      *
-     * @param timeout timeout
+     * @param timeout timeout, in seconds
      * @return this
      */
     public Postcard setTimeout(int timeout) {
-        this.timeout = timeout;
+        return setTimeoutMillis(TimeUnit.SECONDS.toMillis(timeout));
+    }
+
+    /**
+     * Timeout of navigation, in milliseconds.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Set timeout of navigation this time, it's counted from the start of navigation,
+     * through route completion and all of interceptors.
+     *
+     * @param timeoutMillis timeout, in milliseconds
+     * @return this
+     */
+    public Postcard setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        return this;
+    }
+
+    /**
+     * Start the deadline of navigation by timeout, every navigation of this postcard has its own deadline,
+     * so a postcard navigated again, like a retry after login, isn't bounded by the deadline of last one.
+     * Inner method, called when navigation starts.
+     *
+     * @return this
+     */
+    public Postcard startDeadline() {
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        deadline = 0 == start ? 1 : start;
         return this;
     }
 
+    /**
+     * Whether the deadline has been started by navigation.
+     */
+    public boolean hasDeadline() {
+        return 0 != deadline;
+    }
+
+    /**
+     * Remaining time of navigation before the deadline, in milliseconds, maybe negative.
+     * It's the whole timeout if navigation hasn't started.
+     */
+    public long getRemainingMillis() {
+        return 0 == deadline ? timeoutMillis : TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
     public Uri getUri() {
         return uri;
     }
@@ -586,7 +640,7 @@ public final class Postcard extends RouteMeta {
                 ", tag=" + tag +
                 ", mBundle=" + mBundle +
                 ", flags=" + flags +
-                ", timeout=" + timeout +
+                ", timeoutMillis=" + timeoutMillis +
                 ", provider=" + provider +
                 ", greenChannel=" + greenChannel +
                 ", optionsCompat=" + optionsCompat +
@@ -0,0 +1,32 @@
+package com.alibaba.android.arouter.facade.template;
+
+import com.alibaba.android.arouter.facade.Postcard;
+
+/**
+ * Interceptor whose decision to continue can be cached, like "user is logged in, continue".
+ * <p>
+ * When it continues a postcard, the decision is cached by its key until the ttl expires,
+ * and the following postcards with the same key skip this interceptor.
+ * Only continue is cached, and the postcard passed to continue is not replayed,
+ * so don't cache the decision which changes the postcard.
+ * <p>
+ * Invalidate the decisions by ARouter.invalidateInterceptorDecisions when they are out of date, like logout.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface ICacheableInterceptor extends IInterceptor {
+    /**
+     * Key of the decision for this postcard, postcards with the same key share the decision.
+     * Use path to cache by route, extra to cache by the flags of route, or a constant to cache for all of routes.
+     *
+     * @param postcard meta
+     * @return key, or null if the decision for this postcard can't be cached
+     */
+    String decisionKey(Postcard postcard);
+
+    /**
+     * Time to live of the decision, in milliseconds, the decision is not cached if it's not positive.
+     */
+    long decisionTtl();
+}
@@ -0,0 +1,19 @@
+package com.alibaba.android.arouter.facade.template;
+
+/**
+ * Provider which is initialized in background when ARouter init, rather than by the first navigation.
+ * <p>
+ * The providers are initialized in parallel, every one after its dependencies, the dependencies which are not eager
+ * are initialized too. Navigation of a provider only waits for the init of itself.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface IEagerProvider extends IProvider {
+    /**
+     * Called before init, on the background thread.
+     *
+     * @return services or providers which must be initialized before this one, null or empty if none.
+     */
+    Class<?>[] dependsOn();
+}
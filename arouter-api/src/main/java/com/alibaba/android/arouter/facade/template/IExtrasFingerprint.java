@@ -0,0 +1,18 @@
+package com.alibaba.android.arouter.facade.template;
+
+import com.alibaba.android.arouter.facade.Postcard;
+
+/**
+ * Fingerprint of the extras of postcard, used by navigation coalescing.
+ * The navigations with same path, context, request code and fingerprint are duplicates.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface IExtrasFingerprint {
+    /**
+     * @param postcard postcard before completion
+     * @return fingerprint of postcard, null means it's never coalesced.
+     */
+    String fingerprint(Postcard postcard);
+}
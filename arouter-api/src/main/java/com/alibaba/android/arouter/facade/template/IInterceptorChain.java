@@ -0,0 +1,34 @@
+package com.alibaba.android.arouter.facade.template;
+
+import com.alibaba.android.arouter.facade.Postcard;
+import com.alibaba.android.arouter.facade.callback.InterceptorCallback;
+
+/**
+ * All of interceptors in the app, generated by arouter-register plugin.
+ * It creates the interceptors without reflection, and processes each of them by its own call site.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface IInterceptorChain {
+    /**
+     * Priorities of interceptors, in order.
+     */
+    int[] priorities();
+
+    /**
+     * Create interceptors, in the same order as priorities.
+     *
+     * @return interceptors which have not been initialized
+     */
+    IInterceptor[] create();
+
+    /**
+     * Process the interceptor which has been created.
+     *
+     * @param index    index of interceptor in the order of priority
+     * @param postcard meta
+     * @param callback cb
+     */
+    void process(int index, Postcard postcard, InterceptorCallback callback);
+}
@@ -0,0 +1,21 @@
+package com.alibaba.android.arouter.facade.template;
+
+import com.alibaba.android.arouter.facade.model.InterceptorScope;
+
+import java.util.Map;
+
+/**
+ * Interceptor group which contains the scopes of its interceptors,
+ * the interceptors without scope process all of routes.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface IInterceptorScopeGroup extends IInterceptorGroup {
+    /**
+     * Load scopes of interceptors to input
+     *
+     * @param scopes priority of interceptor and its scope
+     */
+    void loadScopeInto(Map<Integer, InterceptorScope> scopes);
+}
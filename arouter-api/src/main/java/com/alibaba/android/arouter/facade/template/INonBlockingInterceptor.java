@@ -0,0 +1,14 @@
+package com.alibaba.android.arouter.facade.template;
+
+/**
+ * Interceptor which never blocks in {@link #process}, like checking a flag,
+ * it maybe processed in the thread which starts navigation, even the main thread.
+ * <p>
+ * If all of the interceptors of navigation are non blocking, they are processed inline,
+ * without switching to the thread pool of ARouter.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface INonBlockingInterceptor extends IInterceptor {
+}
@@ -0,0 +1,18 @@
+package com.alibaba.android.arouter.facade.template;
+
+/**
+ * Interceptor which is independent of other parallel interceptors, like checking login state or a remote flag.
+ * <p>
+ * Adjacent parallel interceptors whose priorities are in the same band of ten, like 10 to 19, are a stage.
+ * They are processed concurrently, the stage continues when all of them continue,
+ * and the first interrupt cancels the rest of stage. Stages are processed in the order of priority.
+ * <p>
+ * The interceptors of a stage share one postcard in different threads, so they must not mutate it, its extras
+ * are not thread safe. They must not replace it either, a different postcard passed to onContinue is ignored.
+ * Use {@link IInterceptor} to change the postcard.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface IParallelInterceptor extends IInterceptor {
+}
@@ -0,0 +1,14 @@
+package com.alibaba.android.arouter.facade.template;
+
+/**
+ * Factory of provider, create provider without reflection, used by the services locator generated by arouter-compiler.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface IProviderFactory {
+    /**
+     * Create the provider, it will be init by ARouter.
+     */
+    IProvider create();
+}
@@ -0,0 +1,19 @@
+package com.alibaba.android.arouter.facade.template;
+
+import java.util.Map;
+
+/**
+ * Root element which creates its groups directly,
+ * {@link IRouteRoot#loadInto(Map)} is kept for old version of arouter-api.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface IRouteFactoryRoot extends IRouteRoot {
+    /**
+     * Load the factories of groups to input
+     *
+     * @param factories group name and its factory
+     */
+    void loadFactoryInto(Map<String, IRouteGroupFactory> factories);
+}
@@ -0,0 +1,17 @@
+package com.alibaba.android.arouter.facade.template;
+
+/**
+ * Factory of route group, create group without reflection.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface IRouteGroupFactory {
+    /**
+     * Create the group by name.
+     *
+     * @param groupName name of group
+     * @return group, or null if the group is not created by this factory.
+     */
+    IRouteGroup createGroup(String groupName);
+}
@@ -0,0 +1,18 @@
+package com.alibaba.android.arouter.facade.template;
+
+/**
+ * Interceptor which has its own budget of time, like requesting a remote flag.
+ * <p>
+ * If it doesn't continue or interrupt within the budget, the navigation is interrupted,
+ * and its late callback is dropped. The budget is counted from the start of {@link #process},
+ * and it never exceeds the deadline of navigation, see Postcard#setTimeoutMillis.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public interface ITimedInterceptor extends IInterceptor {
+    /**
+     * Budget of this interceptor, in milliseconds, not positive means no budget.
+     */
+    long budgetMillis();
+}
@@ -8,10 +8,15 @@ import com.alibaba.android.arouter.exception.InitException;
 import com.alibaba.android.arouter.facade.Postcard;
 import com.alibaba.android.arouter.facade.callback.NavigationCallback;
 import com.alibaba.android.arouter.facade.model.RouteMeta;
+import com.alibaba.android.arouter.facade.template.IEagerProvider;
+import com.alibaba.android.arouter.facade.template.IExtrasFingerprint;
+import com.alibaba.android.arouter.facade.template.IInterceptor;
 import com.alibaba.android.arouter.facade.template.ILogger;
 import com.alibaba.android.arouter.facade.template.IRouteGroup;
 import com.alibaba.android.arouter.utils.Consts;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -88,10 +93,61 @@ public final class ARouter {
         _ARouter.printStackTrace();
     }
 
-    public static synchronized void setExecutor(ThreadPoolExecutor tpe) {
+    /**
+     * Executor which runs the tasks of ARouter, call it before init.
+     * The tasks are scheduled in lanes on it, navigation first, see {@link com.alibaba.android.arouter.thread.LaneExecutor}.
+     */
+    public static synchronized void setExecutor(Executor tpe) {
         _ARouter.setExecutor(tpe);
     }
 
+    /**
+     * Kept for binary compatibility, same as {@link #setExecutor(Executor)}.
+     */
+    public static synchronized void setExecutor(ThreadPoolExecutor tpe) {
+        setExecutor((Executor) tpe);
+    }
+
+    /**
+     * Bound the count of loaded route groups, the least recently used groups will be evicted
+     * and loaded again when used, 0 means unbounded (default).
+     * In bounded mode, caches are also trimmed when memory is low.
+     */
+    public static synchronized void setMaxLoadedGroups(int maxLoadedGroups) {
+        _ARouter.setMaxLoadedGroups(maxLoadedGroups);
+    }
+
+    /**
+     * Coalesce the duplicate activity navigations, like double taps. The navigation with same path, context,
+     * request code and extras, which comes while the same one is in flight or inside the window after it's over,
+     * is merged into it, and gets the callbacks of it. 0 means disabled (default).
+     */
+    public static synchronized void setNavigationCoalescing(long windowMillis) {
+        _ARouter.setNavigationCoalescing(windowMillis, null);
+    }
+
+    /**
+     * @param fingerprint fingerprint of extras, the navigations with different fingerprint are not duplicates.
+     * @see #setNavigationCoalescing(long)
+     */
+    public static synchronized void setNavigationCoalescing(long windowMillis, IExtrasFingerprint fingerprint) {
+        _ARouter.setNavigationCoalescing(windowMillis, fingerprint);
+    }
+
+    /**
+     * Invalidate the cached decisions of interceptor, like the login interceptor after logout.
+     */
+    public static void invalidateInterceptorDecisions(Class<? extends IInterceptor> interceptorClass) {
+        _ARouter.invalidateInterceptorDecisions(interceptorClass);
+    }
+
+    /**
+     * Invalidate the cached decisions of all interceptors.
+     */
+    public static void invalidateInterceptorDecisions() {
+        _ARouter.invalidateInterceptorDecisions(null);
+    }
+
     public synchronized void destroy() {
         _ARouter.destroy();
         hasInit = false;
@@ -177,6 +233,19 @@ public final class ARouter {
         return _ARouter.getInstance().navigation(service);
     }
 
+    /**
+     * Launch the navigation by type, without waiting for the init of provider.
+     * The future is done when the provider has been initialized, see {@link IEagerProvider}.
+     * Canceling the future doesn't stop the init of eager provider.
+     *
+     * @param service interface of service
+     * @param <T>     return type
+     * @return future of service, its value is null if the service has no provider
+     */
+    public <T> Future<T> navigationFuture(Class<? extends T> service) {
+        return _ARouter.getInstance().navigationFuture(service);
+    }
+
     /**
      * Launch the navigation.
      *
@@ -0,0 +1,309 @@
+package com.alibaba.android.arouter.launcher;
+
+import android.content.Context;
+import android.os.Bundle;
+
+import com.alibaba.android.arouter.facade.Postcard;
+import com.alibaba.android.arouter.facade.callback.NavigationCallback;
+import com.alibaba.android.arouter.facade.template.IExtrasFingerprint;
+import com.alibaba.android.arouter.utils.Consts;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesce the duplicate navigations, like double taps and repeated deep links.
+ * <p>
+ * The activity navigation is registered after completion, the duplicates which come while it's in flight,
+ * or inside the window after it's over, are merged into it without pretreatment, completion and interceptors,
+ * the callbacks of them are fanned out with the postcard of it.
+ * Only activity is coalesced, other types return their instance to caller.
+ * <p>
+ * When the navigation is over, its context and callback are released, the entry in window doesn't hold the activity.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+final class NavigationCoalescer {
+    private static final int IN_FLIGHT = 0;
+    private static final int ARRIVED = 1;
+    private static final int INTERRUPTED = 2;
+
+    /**
+     * Uri, flags, action and extras in the order of key.
+     * The value without content in toString, like array, makes the navigation never coalesced.
+     */
+    static final IExtrasFingerprint DEFAULT_FINGERPRINT = new IExtrasFingerprint() {
+        @Override
+        public String fingerprint(Postcard postcard) {
+            StringBuilder fingerprint = new StringBuilder()
+                    .append(postcard.getUri()).append('|')
+                    .append(postcard.getFlags()).append('|')
+                    .append(postcard.getAction());
+            Bundle extras = postcard.getExtras();
+            for (String key : new TreeSet<>(extras.keySet())) {
+                fingerprint.append('|').append(key).append('=').append(extras.get(key));
+            }
+            return fingerprint.toString();
+        }
+    };
+
+    private final long windowNanos;
+    private final IExtrasFingerprint fingerprint;
+    // Guarded by this.
+    private final Map<Key, Entry> entries = new HashMap<>();
+
+    NavigationCoalescer(long windowMillis, IExtrasFingerprint fingerprint) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.fingerprint = null == fingerprint ? DEFAULT_FINGERPRINT : fingerprint;
+    }
+
+    /**
+     * @return null if the postcard is never coalesced
+     */
+    Key keyOf(Context context, Postcard postcard, int requestCode) {
+        String print = fingerprint.fingerprint(postcard);
+        return null == print ? null : new Key(context, postcard.getPath(), requestCode, print);
+    }
+
+    /**
+     * Merge the navigation into the same one which is in flight or inside the window.
+     *
+     * @return false if there's no same navigation
+     */
+    boolean join(Key key, NavigationCallback callback) {
+        Entry entry;
+        synchronized (this) {
+            entry = live(key);
+        }
+        if (null == entry) {
+            return false;
+        }
+
+        _ARouter.logger.info(Consts.TAG, "Navigation coalesced, path = [" + key.path + "]");
+        if (null == callback) {
+            return true;
+        }
+
+        callback.onFound(entry.postcard);
+        int state;
+        synchronized (entry) {
+            state = entry.state;
+            if (IN_FLIGHT == state) {
+                // Called back when the navigation is over.
+                entry.followers.add(callback);
+            }
+        }
+        entry.deliver(callback, state);
+        return true;
+    }
+
+    /**
+     * Register the activity navigation after completion, the duplicates will be merged into it.
+     *
+     * @return callback of the navigation which fans out to the duplicates, null if it's merged into the same one
+     * registered by other thread meanwhile.
+     */
+    NavigationCallback lead(Key key, Postcard postcard, NavigationCallback callback) {
+        // Keep it in flight until the deadline of navigation at most, then the window.
+        Entry entry = new Entry(key, postcard, callback, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, postcard.getRemainingMillis())) + windowNanos);
+        synchronized (this) {
+            if (null == live(key)) {
+                purge();
+                entries.put(key, entry);
+                return entry;
+            }
+        }
+
+        return join(key, callback) ? null : callback;
+    }
+
+    /**
+     * The navigation led by callback failed without its callbacks, like the activity is not found,
+     * drop it so the duplicates are not merged into it, the waiting ones are interrupted.
+     *
+     * @param callback callback returned by {@link #lead(Key, Postcard, NavigationCallback)}
+     */
+    static void abort(NavigationCallback callback) {
+        if (callback instanceof NavigationCoalescer.Entry) {
+            ((NavigationCoalescer.Entry) callback).abort();
+        }
+    }
+
+    /**
+     * Guarded by this.
+     */
+    private Entry live(Key key) {
+        Entry entry = entries.get(key);
+        if (null != entry && entry.isExpired(System.nanoTime())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Guarded by this.
+     */
+    private void purge() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> next = iterator.next();
+            if (next.getValue().isExpired(now) || next.getKey().isCleared()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Path, request code, fingerprint of extras and the identity of context, which is weakly held.
+     */
+    static final class Key {
+        final String path;
+        final int requestCode;
+        final String fingerprint;
+        final WeakReference<Context> context;
+        final boolean hasContext;
+        final int hash;
+
+        Key(Context context, String path, int requestCode, String fingerprint) {
+            this.path = path;
+            this.requestCode = requestCode;
+            this.fingerprint = fingerprint;
+            this.context = new WeakReference<>(context);
+            this.hasContext = null != context;
+            this.hash = (System.identityHashCode(context) * 31 + String.valueOf(path).hashCode()) * 31 + fingerprint.hashCode() + requestCode;
+        }
+
+        boolean isCleared() {
+            return hasContext && null == context.get();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return hash == key.hash
+                    && requestCode == key.requestCode
+                    && hasContext == key.hasContext
+                    && !isCleared()
+                    && context.get() == key.context.get()
+                    && fingerprint.equals(key.fingerprint)
+                    && (null == path ? null == key.path : path.equals(key.path));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Navigation which leads the duplicates, it's the callback of navigation itself.
+     */
+    private final class Entry implements NavigationCallback {
+        final Key key;
+        final Postcard postcard;
+        // Released when it's over, it maybe an inner class of activity.
+        volatile NavigationCallback callback;
+        // Guarded by this.
+        final List<NavigationCallback> followers = new ArrayList<>(1);
+        volatile int state = IN_FLIGHT;
+        volatile long expireAt;
+
+        Entry(Key key, Postcard postcard, NavigationCallback callback, long expireAt) {
+            this.key = key;
+            this.postcard = postcard;
+            this.callback = callback;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expireAt > 0;
+        }
+
+        @Override
+        public void onFound(Postcard postcard) {
+            NavigationCallback callback = this.callback;
+            if (null != callback) {
+                callback.onFound(postcard);
+            }
+        }
+
+        @Override
+        public void onLost(Postcard postcard) {
+            NavigationCallback callback = this.callback;
+            if (null != callback) {
+                callback.onLost(postcard);
+            }
+        }
+
+        @Override
+        public void onArrival(Postcard postcard) {
+            NavigationCallback callback = this.callback;
+            if (null != callback) {
+                callback.onArrival(postcard);
+            }
+            over(ARRIVED);
+        }
+
+        @Override
+        public void onInterrupt(Postcard postcard) {
+            NavigationCallback callback = this.callback;
+            if (null != callback) {
+                callback.onInterrupt(postcard);
+            }
+            over(INTERRUPTED);
+        }
+
+        void abort() {
+            synchronized (NavigationCoalescer.this) {
+                if (entries.get(key) == this) {
+                    entries.remove(key);
+                }
+            }
+            over(INTERRUPTED);
+        }
+
+        private void over(int state) {
+            List<NavigationCallback> followers;
+            synchronized (this) {
+                if (IN_FLIGHT != this.state) {
+                    return;
+                }
+                this.state = state;
+                this.expireAt = System.nanoTime() + windowNanos;
+                followers = new ArrayList<>(this.followers);
+                this.followers.clear();
+                // The activity has been started, don't hold it in window.
+                postcard.setContext(null);
+                callback = null;
+            }
+
+            for (NavigationCallback follower : followers) {
+                deliver(follower, state);
+            }
+        }
+
+        void deliver(NavigationCallback follower, int state) {
+            if (ARRIVED == state) {
+                follower.onArrival(postcard);
+            } else if (INTERRUPTED == state) {
+                follower.onInterrupt(postcard);
+            }
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.alibaba.android.arouter.launcher;
 import android.app.Activity;
 import android.app.Application;
 import android.app.Fragment;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.Intent;
+import android.content.res.Configuration;
 import android.net.Uri;
 import android.os.Handler;
 import android.os.Looper;
@@ -20,8 +22,11 @@ import com.alibaba.android.arouter.exception.NoRouteFoundException;
 import com.alibaba.android.arouter.facade.Postcard;
 import com.alibaba.android.arouter.facade.callback.InterceptorCallback;
 import com.alibaba.android.arouter.facade.callback.NavigationCallback;
+import com.alibaba.android.arouter.facade.enums.RouteType;
 import com.alibaba.android.arouter.facade.model.RouteMeta;
 import com.alibaba.android.arouter.facade.service.*;
+import com.alibaba.android.arouter.facade.template.IExtrasFingerprint;
+import com.alibaba.android.arouter.facade.template.IInterceptor;
 import com.alibaba.android.arouter.facade.template.ILogger;
 import com.alibaba.android.arouter.facade.template.IRouteGroup;
 import com.alibaba.android.arouter.thread.DefaultPoolExecutor;
@@ -33,7 +38,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 /**
  * ARouter core (Facade patten)
@@ -49,11 +55,13 @@ final class _ARouter {
     private volatile static boolean autoInject = false;
     private volatile static _ARouter instance = null;
     private volatile static boolean hasInit = false;
-    private volatile static ThreadPoolExecutor executor = DefaultPoolExecutor.getInstance();
+    private volatile static Executor executor = DefaultPoolExecutor.getInstance();
+    private volatile static NavigationCoalescer coalescer;
     private static Handler mHandler;
     private static Context mContext;
 
     private static InterceptorService interceptorService;
+    private static ComponentCallbacks2 trimMemoryCallbacks;
 
     private _ARouter() {
     }
@@ -62,6 +70,7 @@ final class _ARouter {
         mContext = application;
         // 初始化交由LogisticsCenter处理（！！！）
         LogisticsCenter.init(mContext, executor);
+        registerTrimMemoryCallbacks(application);
         logger.info(Consts.TAG, "ARouter init success!");
         hasInit = true;
         mHandler = new Handler(Looper.getMainLooper());
@@ -69,6 +78,32 @@ final class _ARouter {
         return true;
     }
 
+    /**
+     * Trim caches of router when memory is low, see {@link LogisticsCenter#trimMemory(int)}.
+     */
+    private static void registerTrimMemoryCallbacks(Application application) {
+        if (null != trimMemoryCallbacks) {
+            return;
+        }
+
+        trimMemoryCallbacks = new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                LogisticsCenter.trimMemory(level);
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                LogisticsCenter.trimMemory(TRIM_MEMORY_COMPLETE);
+            }
+        };
+        application.registerComponentCallbacks(trimMemoryCallbacks);
+    }
+
     /**
      * Destroy arouter, it can be used only in debug mode.
      */
@@ -145,10 +180,36 @@ final class _ARouter {
         logger.info(Consts.TAG, "ARouter printStackTrace");
     }
 
-    static synchronized void setExecutor(ThreadPoolExecutor tpe) {
+    static synchronized void setExecutor(Executor tpe) {
         executor = tpe;
     }
 
+    static synchronized void setMaxLoadedGroups(int maxLoadedGroups) {
+        LogisticsCenter.setMaxLoadedGroups(maxLoadedGroups);
+        logger.info(Consts.TAG, "ARouter max loaded groups " + maxLoadedGroups);
+    }
+
+    /**
+     * @param windowMillis 0 means disabled
+     * @param fingerprint  null means the default one
+     */
+    static synchronized void setNavigationCoalescing(long windowMillis, IExtrasFingerprint fingerprint) {
+        coalescer = windowMillis > 0 ? new NavigationCoalescer(windowMillis, fingerprint) : null;
+        logger.info(Consts.TAG, "ARouter navigation coalescing " + (windowMillis > 0 ? "window " + windowMillis + "ms" : "off"));
+    }
+
+    /**
+     * @param interceptorClass null means all of interceptors
+     */
+    static void invalidateInterceptorDecisions(Class<? extends IInterceptor> interceptorClass) {
+        if (null == interceptorClass) {
+            LogisticsCenter.invalidateInterceptorDecisions();
+        } else {
+            LogisticsCenter.invalidateInterceptorDecisions(interceptorClass);
+        }
+        logger.info(Consts.TAG, "ARouter invalidate interceptor decisions " + (null == interceptorClass ? "of all" : interceptorClass.getName()));
+    }
+
     static synchronized void monitorMode() {
         monitorMode = true;
         logger.info(Consts.TAG, "ARouter monitorMode on");
@@ -256,33 +317,18 @@ final class _ARouter {
 
     protected <T> T navigation(Class<? extends T> service) {
         try {
-            // 从 Warehouse.providersIndex 取值拿到 RouteMeta 中存储的 path 和 group
-            Postcard postcard = LogisticsCenter.buildProvider(service.getName());
-
-            // Compatible 1.0.5 compiler sdk.
-            // Earlier versions did not use the fully qualified name to get the service
-            if (null == postcard) {
-                // No service, or this service in old version.
-                postcard = LogisticsCenter.buildProvider(service.getSimpleName());
-            }
-
-            if (null == postcard) {
-                return null;
-            }
-
-            // Set application to postcard.
-            postcard.setContext(mContext);
-
-            // 路由的元数据，不为空，就去实例化对应的路由对象
-            LogisticsCenter.completion(postcard);
-            // 最后返回provide对象
-            return (T) postcard.getProvider();
+            // Resolved providers are cached by service, including absent ones, it's a lock-free lookup after first time.
+            return LogisticsCenter.findProvider(service);
         } catch (NoRouteFoundException ex) {
             logger.warning(Consts.TAG, ex.getMessage());
             return null;
         }
     }
 
+    protected <T> Future<T> navigationFuture(Class<? extends T> service) {
+        return LogisticsCenter.getProviderFuture(service);
+    }
+
     /**
      * Use router navigation.
      *
@@ -291,7 +337,20 @@ final class _ARouter {
      * @param requestCode RequestCode
      * @param callback    cb
      */
-    protected Object navigation(final Context context, final Postcard postcard, final int requestCode, final NavigationCallback callback) {
+    protected Object navigation(final Context context, final Postcard postcard, final int requestCode, NavigationCallback callback) {
+        // The timeout of postcard is counted from here, through pretreatment, completion and interceptors.
+        postcard.startDeadline();
+
+        // 合并重复的跳转，例如连续点击，重复的跳转直接使用进行中的跳转结果
+        NavigationCoalescer coalescer = _ARouter.coalescer;
+        NavigationCoalescer.Key coalesceKey = null;
+        if (null != coalescer) {
+            coalesceKey = coalescer.keyOf(context, postcard, requestCode);
+            if (null != coalesceKey && coalescer.join(coalesceKey, callback)) {
+                return null;
+            }
+        }
+
         // 获取预处理的Provider
         PretreatmentService pretreatmentService = ARouter.getInstance().navigation(PretreatmentService.class);
         // 如果不为空，就执行
@@ -304,13 +363,12 @@ final class _ARouter {
         // Set context to postcard.
         postcard.setContext(null == context ? mContext : context);
 
-        try {
-            // 主要是为Postcard找到对应router，并且用router中信息填充Postcard对象。
-            LogisticsCenter.completion(postcard);
-        } catch (NoRouteFoundException ex) {
-            // 没有找到匹配的目标类，就抛出异常，也就是降级处理
+        // 主要是为Postcard找到对应router，并且用router中信息填充Postcard对象。
+        // Missing route is returned without exception, the repeated miss is a lookup of cache.
+        if (!LogisticsCenter.tryCompletion(postcard)) {
+            // 没有找到匹配的目标类，也就是降级处理
             // 下面就执行一些提示操作和事件回调通知
-            logger.warning(Consts.TAG, ex.getMessage());
+            logger.warning(Consts.TAG, Consts.TAG + "There is no route match the path [" + postcard.getPath() + "], in group [" + postcard.getGroup() + "]");
 
             if (debuggable()) {
                 // Show friendly tips for user.
@@ -339,12 +397,22 @@ final class _ARouter {
             return null;
         }
 
+        if (null != coalesceKey && postcard.getType() == RouteType.ACTIVITY) {
+            // Only activity is coalesced, the callback fans out to the duplicates.
+            callback = coalescer.lead(coalesceKey, postcard, callback);
+            if (null == callback) {
+                return null;
+            }
+        }
+
         if (null != callback) {
             // 找到了匹配的目标类
             callback.onFound(postcard);
         }
 
-        if (!postcard.isGreenChannel()) {   // It must be run in async thread, maybe interceptor cost too mush time made ANR.
+        final NavigationCallback navigationCallback = callback;
+
+        if (!postcard.isGreenChannel()) {   // It must be run in async thread, maybe interceptor cost too mush time made ANR, unless all of interceptors are non blocking.
             // 没有开启绿色通道，那么就还需要执行所有拦截器
             // 外部可以通过拦截器实现：控制是否允许跳转、更改跳转参数等逻辑
             // 它必须在异步线程中运行，可能拦截器花费太多的时间使ANR。
@@ -357,7 +425,7 @@ final class _ARouter {
                 @Override
                 public void onContinue(Postcard postcard) {
                     // 被通知继续，则继续跳转
-                    _navigation(postcard, requestCode, callback);
+                    _navigation(postcard, requestCode, navigationCallback);
                 }
 
                 /**
@@ -369,8 +437,8 @@ final class _ARouter {
                 public void onInterrupt(Throwable exception) {
                     // 被通知拦截
                     // 通知callback拦截
-                    if (null != callback) {
-                        callback.onInterrupt(postcard);
+                    if (null != navigationCallback) {
+                        navigationCallback.onInterrupt(postcard);
                     }
 
                     logger.info(Consts.TAG, "Navigation failed, termination by interceptor : " + exception.getMessage());
@@ -378,7 +446,7 @@ final class _ARouter {
             });
         } else {
             // 开启了绿色通道，直接跳转，不需要处理拦截器
-            return _navigation(postcard, requestCode, callback);
+            return _navigation(postcard, requestCode, navigationCallback);
         }
 
         return null;
@@ -416,7 +484,16 @@ final class _ARouter {
                 runInMainThread(new Runnable() {
                     @Override
                     public void run() {
-                        startActivity(requestCode, currentContext, intent, postcard, callback);
+                        boolean started = false;
+                        try {
+                            startActivity(requestCode, currentContext, intent, postcard, callback);
+                            started = true;
+                        } finally {
+                            if (!started) {
+                                // Failed without callback, like ActivityNotFoundException, don't merge the duplicates into it.
+                                NavigationCoalescer.abort(callback);
+                            }
+                        }
                     }
                 });
 
@@ -428,9 +505,9 @@ final class _ARouter {
             case CONTENT_PROVIDER:
             case FRAGMENT:
                 // 广播，内容提供者，fragment，则创建对象并赋值参数
-                Class<?> fragmentMeta = postcard.getDestination();
                 try {
-                    Object instance = fragmentMeta.getConstructor().newInstance();
+                    // Created by the generated group, reflection only for old version of arouter-compiler.
+                    Object instance = postcard.newInstance();
                     if (instance instanceof Fragment) {
                         ((Fragment) instance).setArguments(postcard.getExtras());
                     } else if (instance instanceof android.support.v4.app.Fragment) {
@@ -51,7 +51,14 @@ public class DefaultPoolExecutor extends ThreadPoolExecutor {
         super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, new RejectedExecutionHandler() {
             @Override
             public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-                ARouter.logger.error(Consts.TAG, "Task rejected, too many task!");
+                if (executor.isShutdown()) {
+                    ARouter.logger.error(Consts.TAG, "Task rejected, executor has been shutdown!");
+                    return;
+                }
+
+                // Run it in caller thread rather than dropping, the navigation or init waits for it.
+                ARouter.logger.warning(Consts.TAG, "Task rejected, too many task! Run it in caller thread.");
+                r.run();
             }
         });
     }
@@ -0,0 +1,28 @@
+package com.alibaba.android.arouter.thread;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Timer of ARouter, only for short tasks, like the timeout of navigation.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public class DefaultScheduledExecutor extends ScheduledThreadPoolExecutor {
+    private static volatile DefaultScheduledExecutor instance;
+
+    public static DefaultScheduledExecutor getInstance() {
+        if (null == instance) {
+            synchronized (DefaultScheduledExecutor.class) {
+                if (null == instance) {
+                    instance = new DefaultScheduledExecutor();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private DefaultScheduledExecutor() {
+        super(1, new DefaultThreadFactory("ARouter timer pool"));
+    }
+}
@@ -23,10 +23,14 @@ public class DefaultThreadFactory implements ThreadFactory {
     private final String namePrefix;
 
     public DefaultThreadFactory() {
+        this("ARouter task pool");
+    }
+
+    public DefaultThreadFactory(String poolName) {
         SecurityManager s = System.getSecurityManager();
         group = (s != null) ? s.getThreadGroup() :
                 Thread.currentThread().getThreadGroup();
-        namePrefix = "ARouter task pool No." + poolNumber.getAndIncrement() + ", thread No.";
+        namePrefix = poolName + " No." + poolNumber.getAndIncrement() + ", thread No.";
     }
 
     public Thread newThread(@NonNull Runnable runnable) {
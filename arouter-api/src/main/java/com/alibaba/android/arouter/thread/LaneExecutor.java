@@ -0,0 +1,325 @@
+package com.alibaba.android.arouter.thread;
+
+import android.os.Looper;
+
+import com.alibaba.android.arouter.launcher.ARouter;
+import com.alibaba.android.arouter.utils.Consts;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tasks of ARouter in lanes, run by any executor.
+ * <p>
+ * Every lane has its own bounded queue and max count of running tasks, idle workers take the task
+ * from the lane of highest priority first, the navigations started by main thread are in the front of lane.
+ * Tasks are never dropped, when the lane is full or the executor rejects, the task runs in the caller thread.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public class LaneExecutor implements Executor {
+    private static final int CPU_COUNT = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Lanes in the order of priority.
+     */
+    public enum Lane {
+        // Navigation started by user, the interceptors of it.
+        NAVIGATION(64),
+        // Interceptor work of the started navigation, like parallel interceptors.
+        INTERCEPTOR(64),
+        // Startup work, like scanning dex and the init of interceptors.
+        STARTUP(64),
+        // Background work which nobody waits, like writing cache.
+        PREFETCH(16);
+
+        final int capacity;
+
+        Lane(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    private final Executor executor;
+    private final int maxRunning;
+    private final LaneState[] lanes = new LaneState[Lane.values().length];
+    // Guarded by this.
+    private int running;
+
+    /**
+     * @param executor executor which runs the tasks, max count of running tasks is the max pool size if it's a ThreadPoolExecutor.
+     */
+    public LaneExecutor(Executor executor) {
+        this(executor, executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getMaximumPoolSize() : CPU_COUNT + 1);
+    }
+
+    /**
+     * @param executor   executor which runs the tasks
+     * @param maxRunning max count of running tasks in executor
+     */
+    public LaneExecutor(Executor executor, int maxRunning) {
+        this.executor = executor;
+        this.maxRunning = Math.max(1, maxRunning);
+        for (Lane lane : Lane.values()) {
+            int maxLaneRunning;
+            switch (lane) {
+                case STARTUP:
+                    // Leave workers for navigation during startup.
+                    maxLaneRunning = Math.max(1, this.maxRunning / 2);
+                    break;
+                case PREFETCH:
+                    maxLaneRunning = 1;
+                    break;
+                default:
+                    maxLaneRunning = this.maxRunning;
+                    break;
+            }
+            lanes[lane.ordinal()] = new LaneState(lane, maxLaneRunning);
+        }
+    }
+
+    /**
+     * The executor which runs the tasks.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Run task in navigation lane.
+     */
+    @Override
+    public void execute(Runnable task) {
+        execute(Lane.NAVIGATION, task);
+    }
+
+    /**
+     * Run task in lane, the navigation started by main thread is in the front of lane.
+     */
+    public void execute(Lane lane, Runnable task) {
+        if (null == task) {
+            throw new NullPointerException();
+        }
+
+        LaneState state = lanes[lane.ordinal()];
+        boolean urgent = lane == Lane.NAVIGATION && Looper.getMainLooper() == Looper.myLooper();
+        synchronized (this) {
+            if (state.queue.size() < lane.capacity) {
+                state.enqueue(new LaneTask(state, task), urgent);
+                task = null;
+            } else {
+                state.callerRuns++;
+            }
+        }
+
+        if (null != task) {
+            // Backpressure, the caller runs it rather than dropping.
+            ARouter.logger.warning(Consts.TAG, "Lane [" + lane + "] is full, run task in caller thread.");
+            task.run();
+            return;
+        }
+        dispatch();
+    }
+
+    /**
+     * Executor of lane, the tasks executed by it are in the lane.
+     */
+    public Executor lane(final Lane lane) {
+        return new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                LaneExecutor.this.execute(lane, task);
+            }
+        };
+    }
+
+    /**
+     * Snapshot of lane stats.
+     */
+    public synchronized Stats getStats(Lane lane) {
+        LaneState state = lanes[lane.ordinal()];
+        return new Stats(lane, state.queue.size(), state.maxQueueDepth, state.running, state.submitted, state.completed,
+                state.callerRuns, state.rejected, state.totalWaitNanos, state.maxWaitNanos);
+    }
+
+    /**
+     * Start workers for the queued tasks, until max count of running tasks.
+     * The tasks run in caller thread one by one while the executor rejects.
+     */
+    private void dispatch() {
+        while (true) {
+            synchronized (this) {
+                if (running >= maxRunning || !hasRunnable()) {
+                    return;
+                }
+                running++;
+            }
+
+            Worker worker = new Worker();
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // The executor is saturated, run the task in caller thread rather than dropping.
+                LaneTask task;
+                synchronized (this) {
+                    running--;
+                    task = take();
+                    if (null != task) {
+                        task.lane.rejected++;
+                    }
+                }
+                if (null == task) {
+                    return;
+                }
+                ARouter.logger.warning(Consts.TAG, "Task of lane [" + task.lane.lane + "] is rejected, run it in caller thread.");
+                task.run();
+            }
+        }
+    }
+
+    private boolean hasRunnable() {
+        for (LaneState state : lanes) {
+            if (!state.queue.isEmpty() && state.running < state.maxRunning) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Take the task of highest priority which is allowed to run, guarded by this.
+     */
+    private LaneTask take() {
+        for (LaneState state : lanes) {
+            if (!state.queue.isEmpty() && state.running < state.maxRunning) {
+                LaneTask task = state.queue.poll();
+                state.running++;
+                long wait = System.nanoTime() - task.enqueueTime;
+                state.totalWaitNanos += wait;
+                state.maxWaitNanos = Math.max(state.maxWaitNanos, wait);
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private class Worker implements Runnable {
+        @Override
+        public void run() {
+            while (true) {
+                LaneTask task;
+                synchronized (LaneExecutor.this) {
+                    task = take();
+                    if (null == task) {
+                        running--;
+                        return;
+                    }
+                }
+                task.run();
+            }
+        }
+    }
+
+    private class LaneTask implements Runnable {
+        final LaneState lane;
+        final Runnable task;
+        final long enqueueTime = System.nanoTime();
+
+        LaneTask(LaneState lane, Runnable task) {
+            this.lane = lane;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                ARouter.logger.warning(Consts.TAG, "Running task appeared exception! Thread [" + Thread.currentThread().getName() + "], because [" + t.getMessage() + "]");
+            } finally {
+                synchronized (LaneExecutor.this) {
+                    lane.running--;
+                    lane.completed++;
+                }
+            }
+        }
+    }
+
+    private static class LaneState {
+        final Lane lane;
+        final int maxRunning;
+        final ArrayDeque<LaneTask> queue = new ArrayDeque<>();
+        int running;
+        int maxQueueDepth;
+        long submitted;
+        long completed;
+        long callerRuns;
+        long rejected;
+        long totalWaitNanos;
+        long maxWaitNanos;
+
+        LaneState(Lane lane, int maxRunning) {
+            this.lane = lane;
+            this.maxRunning = maxRunning;
+        }
+
+        void enqueue(LaneTask task, boolean urgent) {
+            if (urgent) {
+                queue.addFirst(task);
+            } else {
+                queue.addLast(task);
+            }
+            submitted++;
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+        }
+    }
+
+    /**
+     * Stats of lane.
+     */
+    public static class Stats {
+        public final Lane lane;
+        // Count of queued tasks now.
+        public final int queueDepth;
+        public final int maxQueueDepth;
+        public final int running;
+        // Count of tasks queued in lane.
+        public final long submitted;
+        public final long completed;
+        // Count of tasks run in caller thread because the lane was full.
+        public final long callerRuns;
+        // Count of tasks run in caller thread because the executor rejected.
+        public final long rejected;
+        // Time in queue of the tasks which have started.
+        public final long totalWaitNanos;
+        public final long maxWaitNanos;
+
+        Stats(Lane lane, int queueDepth, int maxQueueDepth, int running, long submitted, long completed,
+              long callerRuns, long rejected, long totalWaitNanos, long maxWaitNanos) {
+            this.lane = lane;
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.running = running;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.callerRuns = callerRuns;
+            this.rejected = rejected;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+
+        @Override
+        public String toString() {
+            long started = submitted - queueDepth;
+            return String.format(Locale.getDefault(),
+                    "Lane [%s], queue [%d], max queue [%d], running [%d], submitted [%d], completed [%d], caller runs [%d], rejected [%d], avg wait [%d]us, max wait [%d]us",
+                    lane, queueDepth, maxQueueDepth, running, submitted, completed, callerRuns, rejected,
+                    started > 0 ? TimeUnit.NANOSECONDS.toMicros(totalWaitNanos / started) : 0, TimeUnit.NANOSECONDS.toMicros(maxWaitNanos));
+        }
+    }
+}
@@ -10,7 +10,7 @@ import android.os.Build;
 import android.util.Log;
 
 import com.alibaba.android.arouter.launcher.ARouter;
-import com.alibaba.android.arouter.thread.DefaultPoolExecutor;
+import com.alibaba.android.arouter.thread.DefaultThreadFactory;
 
 import java.io.File;
 import java.io.IOException;
@@ -21,7 +21,11 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,10 +50,25 @@ public class ClassUtils {
     private static final int VM_WITH_MULTIDEX_VERSION_MAJOR = 2;
     private static final int VM_WITH_MULTIDEX_VERSION_MINOR = 1;
 
+    private static final int MAX_SCAN_THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final long SCAN_THREAD_LIFE = 1L;
+
     private static SharedPreferences getMultiDexPreferences(Context context) {
         return context.getSharedPreferences(PREFS_FILE, Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB ? Context.MODE_PRIVATE : Context.MODE_PRIVATE | Context.MODE_MULTI_PROCESS);
     }
 
+    /**
+     * Receive class names while scanning, see {@link #getFileNameByPackageName(Context, String, OnClassFoundListener)}
+     */
+    public interface OnClassFoundListener {
+        /**
+         * Called on the thread which starts scanning, once for each class.
+         *
+         * @param className class name found
+         */
+        void onClassFound(String className);
+    }
+
     /**
      * 通过指定包名，扫描包下面包含的所有的ClassName
      *
@@ -58,54 +77,143 @@ public class ClassUtils {
      * @return 所有class的集合
      */
     public static Set<String> getFileNameByPackageName(Context context, final String packageName) throws PackageManager.NameNotFoundException, IOException, InterruptedException {
+        return getFileNameByPackageName(context, packageName, null);
+    }
+
+    /**
+     * Scan classes in package, every dex path is scanned by the dedicated workers,
+     * the class names will be handed to listener as soon as its dex finished, so caller
+     * can consume them while other dex files are still being scanned.
+     *
+     * @param context     U know
+     * @param packageName package name
+     * @param listener    nullable, receive class names on the caller thread
+     * @return all of class names
+     */
+    public static Set<String> getFileNameByPackageName(Context context, final String packageName, OnClassFoundListener listener) throws PackageManager.NameNotFoundException, IOException, InterruptedException {
+        long startScan = System.currentTimeMillis();
         final Set<String> classNames = new HashSet<>();
 
         List<String> paths = getSourcePaths(context);
-        final CountDownLatch parserCtl = new CountDownLatch(paths.size());
-
-        for (final String path : paths) {
-            DefaultPoolExecutor.getInstance().execute(new Runnable() {
-                @Override
-                public void run() {
-                    DexFile dexfile = null;
-
-                    try {
-                        if (path.endsWith(EXTRACTED_SUFFIX)) {
-                            //NOT use new DexFile(path), because it will throw "permission error in /data/dalvik-cache"
-                            dexfile = DexFile.loadDex(path, path + ".tmp", 0);
-                        } else {
-                            dexfile = new DexFile(path);
-                        }
+        final BlockingQueue<ScanResult> results = new LinkedBlockingQueue<>();
+        ThreadPoolExecutor scanExecutor = newScanExecutor(paths.size());
 
-                        Enumeration<String> dexEntries = dexfile.entries();
-                        while (dexEntries.hasMoreElements()) {
-                            String className = dexEntries.nextElement();
-                            if (className.startsWith(packageName)) {
-                                classNames.add(className);
-                            }
-                        }
-                    } catch (Throwable ignore) {
-                        Log.e("ARouter", "Scan map file in dex files made error.", ignore);
-                    } finally {
-                        if (null != dexfile) {
-                            try {
-                                dexfile.close();
-                            } catch (Throwable ignore) {
-                            }
+        try {
+            for (final String path : paths) {
+                Runnable task = new Runnable() {
+                    @Override
+                    public void run() {
+                        // Every path must put a result, even though it fails, otherwise the caller will wait forever.
+                        ScanResult result = new ScanResult(path);
+                        long start = System.currentTimeMillis();
+                        try {
+                            // Read the class list from dex tables directly, it won't load or optimize the dex.
+                            result.dexCount = DexScanner.scan(path, packageName, result.classNames);
+                        } catch (Throwable ex) {
+                            Log.w(Consts.TAG, "Scan dex tables of [" + path + "] failed, fall back to DexFile. " + ex.getMessage());
+                            result.fallback = true;
+                            scanByDexFile(path, packageName, result.classNames);
+                        } finally {
+                            result.cost = System.currentTimeMillis() - start;
+                            results.add(result);
                         }
-
-                        parserCtl.countDown();
                     }
+                };
+
+                try {
+                    scanExecutor.execute(task);
+                } catch (RejectedExecutionException ex) {
+                    task.run();
                 }
-            });
+            }
+        } finally {
+            scanExecutor.shutdown();
         }
 
-        parserCtl.await();
+        StringBuilder timing = new StringBuilder();
+        for (int i = 0; i < paths.size(); i++) {
+            ScanResult result = results.take();
+            for (String className : result.classNames) {
+                if (classNames.add(className) && null != listener) {
+                    listener.onClassFound(className);
+                }
+            }
+
+            timing.append("\n  [").append(result.path).append("] dex ").append(result.dexCount)
+                    .append(", classes ").append(result.classNames.size())
+                    .append(", cost ").append(result.cost).append(" ms")
+                    .append(result.fallback ? ", by DexFile" : "");
+        }
 
-        Log.d(Consts.TAG, "Filter " + classNames.size() + " classes by packageName <" + packageName + ">");
+        Log.d(Consts.TAG, "Filter " + classNames.size() + " classes by packageName <" + packageName + ">, cost "
+                + (System.currentTimeMillis() - startScan) + " ms." + timing);
         return classNames;
     }
 
+    /**
+     * Workers only used for scanning, they never reject task and exit after scanning.
+     */
+    private static ThreadPoolExecutor newScanExecutor(int pathCount) {
+        int threadCount = Math.max(1, Math.min(pathCount, MAX_SCAN_THREAD_COUNT));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                SCAN_THREAD_LIFE,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new DefaultThreadFactory("ARouter scan pool"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Result of one path.
+     */
+    private static class ScanResult {
+        final String path;
+        final List<String> classNames = new ArrayList<>();
+        int dexCount;
+        long cost;
+        boolean fallback;
+
+        ScanResult(String path) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * Scan classes by {@link DexFile}, used when the dex tables can not be read directly.
+     */
+    private static void scanByDexFile(String path, String packageName, List<String> classNames) {
+        DexFile dexfile = null;
+
+        try {
+            if (path.endsWith(EXTRACTED_SUFFIX)) {
+                //NOT use new DexFile(path), because it will throw "permission error in /data/dalvik-cache"
+                dexfile = DexFile.loadDex(path, path + ".tmp", 0);
+            } else {
+                dexfile = new DexFile(path);
+            }
+
+            Enumeration<String> dexEntries = dexfile.entries();
+            while (dexEntries.hasMoreElements()) {
+                String className = dexEntries.nextElement();
+                if (className.startsWith(packageName)) {
+                    classNames.add(className);
+                }
+            }
+        } catch (Throwable ignore) {
+            Log.e("ARouter", "Scan map file in dex files made error.", ignore);
+        } finally {
+            if (null != dexfile) {
+                try {
+                    dexfile.close();
+                } catch (Throwable ignore) {
+                }
+            }
+        }
+    }
+
     /**
      * get all the dex path
      *
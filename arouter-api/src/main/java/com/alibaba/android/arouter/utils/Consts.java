@@ -14,12 +14,16 @@ public final class Consts {
     public static final String SUFFIX_ROOT = "Root";
     public static final String SUFFIX_INTERCEPTORS = "Interceptors";
     public static final String SUFFIX_PROVIDERS = "Providers";
+    public static final String SUFFIX_INTERCEPTOR_CHAIN = "InterceptorChain";
     public static final String SUFFIX_AUTOWIRED = SEPARATOR + SDK_NAME + SEPARATOR + "Autowired";
     public static final String DOT = ".";
     public static final String ROUTE_ROOT_PAKCAGE = "com.alibaba.android.arouter.routes";
+    public static final String SDK_PACKAGE = "com.alibaba.android.arouter.";
 
     public static final String AROUTER_SP_CACHE_KEY = "SP_AROUTER_CACHE";
     public static final String AROUTER_SP_KEY_MAP = "ROUTER_MAP";
+    public static final String AROUTER_CACHE_FILE = "arouter_router_map.bin";
+    public static final String AROUTER_MANIFEST_ASSET = "arouter/route-manifest.arm";
 
     public static final String LAST_VERSION_NAME = "LAST_VERSION_NAME";
     public static final String LAST_VERSION_CODE = "LAST_VERSION_CODE";
@@ -0,0 +1,278 @@
+package com.alibaba.android.arouter.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Find classes in dex files by reading the dex tables directly, without {@link dalvik.system.DexFile}.
+ * <p>
+ * The file is memory mapped, so only the pages of the header, the sorted type descriptors
+ * and the class definitions are touched, and no optimized '.tmp' file will be written.
+ * Support raw dex files and apk/zip files which contain stored 'classes*.dex' entries.
+ * The deflated dex entries are not supported, inflating them needs the whole dex on heap,
+ * the caller should fall back to DexFile for them.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public class DexScanner {
+    private static final String DEX_SUFFIX = ".dex";
+    private static final String DEX_ENTRY_PREFIX = "classes";
+
+    // Dex header
+    private static final int DEX_HEADER_SIZE = 0x70;
+    private static final int STRING_IDS_SIZE_OFF = 0x38;
+    private static final int STRING_IDS_OFF_OFF = 0x3C;
+    private static final int TYPE_IDS_SIZE_OFF = 0x40;
+    private static final int TYPE_IDS_OFF_OFF = 0x44;
+    private static final int CLASS_DEFS_SIZE_OFF = 0x60;
+    private static final int CLASS_DEFS_OFF_OFF = 0x64;
+    private static final int CLASS_DEF_ITEM_SIZE = 0x20;
+
+    // Zip structure
+    private static final int ZIP_EOCD_SIG = 0x06054b50;
+    private static final int ZIP_CEN_SIG = 0x02014b50;
+    private static final int ZIP_LOC_SIG = 0x04034b50;
+    private static final int ZIP_EOCD_SIZE = 22;
+    private static final int ZIP_CEN_SIZE = 46;
+    private static final int ZIP_LOC_SIZE = 30;
+    private static final int ZIP_MAX_COMMENT = 0xFFFF;
+    private static final int ZIP_STORED = 0;
+
+    /**
+     * Scan the file in path, add the class which name starts with package into result.
+     *
+     * @param path        apk, zip or dex file
+     * @param packageName package name, ie: com.alibaba.android.arouter.routes
+     * @param result      class name found
+     * @return count of dex scanned in this file
+     * @throws IOException if it is not dex or zip, or it is truncated or corrupt
+     */
+    public static int scan(String path, String packageName, Collection<String> result) throws IOException {
+        byte[] prefix = ("L" + packageName.replace('.', '/') + "/").getBytes("UTF-8");
+
+        RandomAccessFile file = new RandomAccessFile(new File(path), "r");
+        try {
+            FileChannel channel = file.getChannel();
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (path.endsWith(DEX_SUFFIX)) {
+                findClasses(mapped, prefix, result);
+                return 1;
+            } else {
+                return scanZip(mapped, prefix, result);
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException e) {
+            // Offsets out of the file, it's truncated or corrupt.
+            throw new IOException("Corrupt file [" + path + "], " + e, e);
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Walk the central directory, scan every 'classes*.dex' entry in place.
+     * Nothing is scanned if any of them is not stored, the whole file falls back to DexFile.
+     */
+    private static int scanZip(ByteBuffer zip, byte[] prefix, Collection<String> result) throws IOException {
+        int eocd = findEndOfCentralDirectory(zip);
+        int entryCount = zip.getShort(eocd + 10) & 0xFFFF;
+        int entryOffset = zip.getInt(eocd + 16);
+
+        List<ByteBuffer> dexes = new ArrayList<>();
+        for (int i = 0; i < entryCount; i++) {
+            if (zip.getInt(entryOffset) != ZIP_CEN_SIG) {
+                throw new IOException("Bad central directory entry at " + entryOffset);
+            }
+
+            int method = zip.getShort(entryOffset + 10) & 0xFFFF;
+            int size = zip.getInt(entryOffset + 24);
+            int nameLength = zip.getShort(entryOffset + 28) & 0xFFFF;
+            int extraLength = zip.getShort(entryOffset + 30) & 0xFFFF;
+            int commentLength = zip.getShort(entryOffset + 32) & 0xFFFF;
+            int localOffset = zip.getInt(entryOffset + 42);
+
+            if (isDexEntry(zip, entryOffset + ZIP_CEN_SIZE, nameLength)) {
+                if (zip.getInt(localOffset) != ZIP_LOC_SIG) {
+                    throw new IOException("Bad local header at " + localOffset);
+                }
+                int dataOffset = localOffset + ZIP_LOC_SIZE
+                        + (zip.getShort(localOffset + 26) & 0xFFFF)
+                        + (zip.getShort(localOffset + 28) & 0xFFFF);
+
+                if (method != ZIP_STORED) {
+                    // Inflating needs the whole dex on heap, DexFile reads it without that.
+                    throw new IOException("Dex entry is compressed by method " + method + ", only stored entry is supported.");
+                }
+                dexes.add(slice(zip, dataOffset, size));
+            }
+
+            entryOffset += ZIP_CEN_SIZE + nameLength + extraLength + commentLength;
+        }
+
+        for (ByteBuffer dex : dexes) {
+            findClasses(dex, prefix, result);
+        }
+        return dexes.size();
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer zip) throws IOException {
+        int limit = zip.limit();
+        int stop = Math.max(0, limit - ZIP_EOCD_SIZE - ZIP_MAX_COMMENT);
+        for (int offset = limit - ZIP_EOCD_SIZE; offset >= stop; offset--) {
+            if (zip.getInt(offset) == ZIP_EOCD_SIG) {
+                return offset;
+            }
+        }
+
+        throw new IOException("End of central directory not found, it's not a zip file.");
+    }
+
+    /**
+     * Match 'classes.dex', 'classes2.dex' ... in the root of zip.
+     */
+    private static boolean isDexEntry(ByteBuffer zip, int nameOffset, int nameLength) {
+        int minLength = DEX_ENTRY_PREFIX.length() + DEX_SUFFIX.length();
+        if (nameLength < minLength) {
+            return false;
+        }
+
+        for (int i = 0; i < DEX_ENTRY_PREFIX.length(); i++) {
+            if (zip.get(nameOffset + i) != DEX_ENTRY_PREFIX.charAt(i)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < DEX_SUFFIX.length(); i++) {
+            if (zip.get(nameOffset + nameLength - DEX_SUFFIX.length() + i) != DEX_SUFFIX.charAt(i)) {
+                return false;
+            }
+        }
+        for (int i = DEX_ENTRY_PREFIX.length(); i < nameLength - DEX_SUFFIX.length(); i++) {
+            byte b = zip.get(nameOffset + i);
+            if (b < '0' || b > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static ByteBuffer slice(ByteBuffer source, int offset, int size) {
+        ByteBuffer duplicate = source.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + size);
+        return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Type ids are sorted by string id, and string ids are sorted by their content,
+     * so the descriptors start with prefix are a continuous range of type ids.
+     * Then filter them by class defs, the type only referenced by this dex will be ignored.
+     */
+    private static void findClasses(ByteBuffer dex, byte[] prefix, Collection<String> result) throws IOException {
+        if (dex.limit() < DEX_HEADER_SIZE || dex.get(0) != 'd' || dex.get(1) != 'e' || dex.get(2) != 'x' || dex.get(3) != '\n') {
+            throw new IOException("Bad dex magic.");
+        }
+
+        int stringIdsOffset = dex.getInt(STRING_IDS_OFF_OFF);
+        int typeIdsSize = dex.getInt(TYPE_IDS_SIZE_OFF);
+        int typeIdsOffset = dex.getInt(TYPE_IDS_OFF_OFF);
+        int classDefsSize = dex.getInt(CLASS_DEFS_SIZE_OFF);
+        int classDefsOffset = dex.getInt(CLASS_DEFS_OFF_OFF);
+
+        if (dex.getInt(STRING_IDS_SIZE_OFF) == 0 || typeIdsSize == 0 || classDefsSize == 0) {
+            return;
+        }
+
+        // Lower bound of prefix.
+        int low = 0;
+        int high = typeIdsSize;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareDescriptor(dex, stringIdsOffset, typeIdsOffset, middle, prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        int first = low;
+        int last = first;
+        while (last < typeIdsSize && compareDescriptor(dex, stringIdsOffset, typeIdsOffset, last, prefix) == 0) {
+            last++;
+        }
+
+        if (first == last) {
+            return;
+        }
+
+        for (int i = 0; i < classDefsSize; i++) {
+            int classIdx = dex.getInt(classDefsOffset + i * CLASS_DEF_ITEM_SIZE);
+            if (classIdx >= first && classIdx < last) {
+                result.add(readClassName(dex, stringIdsOffset, typeIdsOffset, classIdx));
+            }
+        }
+    }
+
+    /**
+     * Compare the descriptor of type with prefix, only the first 'prefix.length' bytes.
+     *
+     * @return negative if less than prefix, 0 if starts with prefix, positive if greater than prefix.
+     */
+    private static int compareDescriptor(ByteBuffer dex, int stringIdsOffset, int typeIdsOffset, int typeIdx, byte[] prefix) {
+        int dataOffset = stringDataOffset(dex, stringIdsOffset, typeIdsOffset, typeIdx);
+        for (byte expect : prefix) {
+            int actual = dex.get(dataOffset++) & 0xFF;
+            if (actual == 0) {  // End of string, it's shorter than prefix.
+                return -1;
+            }
+            if (actual != (expect & 0xFF)) {
+                return actual - (expect & 0xFF);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Read descriptor like 'Lcom/alibaba/android/arouter/routes/ARouter$$Root$$app;',
+     * convert it to class name 'com.alibaba.android.arouter.routes.ARouter$$Root$$app'.
+     */
+    private static String readClassName(ByteBuffer dex, int stringIdsOffset, int typeIdsOffset, int typeIdx) throws IOException {
+        int dataOffset = stringDataOffset(dex, stringIdsOffset, typeIdsOffset, typeIdx);
+        int end = dataOffset;
+        while (dex.get(end) != 0) {
+            end++;
+        }
+
+        // Skip 'L' and ';'
+        byte[] descriptor = new byte[end - dataOffset - 2];
+        for (int i = 0; i < descriptor.length; i++) {
+            byte b = dex.get(dataOffset + 1 + i);
+            descriptor[i] = b == '/' ? (byte) '.' : b;
+        }
+
+        return new String(descriptor, "UTF-8");
+    }
+
+    /**
+     * Offset of MUTF-8 bytes of the descriptor, after the uleb128 utf16 size.
+     */
+    private static int stringDataOffset(ByteBuffer dex, int stringIdsOffset, int typeIdsOffset, int typeIdx) {
+        int stringIdx = dex.getInt(typeIdsOffset + typeIdx * 4);
+        int offset = dex.getInt(stringIdsOffset + stringIdx * 4);
+        while ((dex.get(offset++) & 0x80) != 0) {
+            // Skip uleb128
+        }
+        return offset;
+    }
+}
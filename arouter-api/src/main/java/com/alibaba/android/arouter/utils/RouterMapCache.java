@@ -0,0 +1,250 @@
+package com.alibaba.android.arouter.utils;
+
+import android.content.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+import static com.alibaba.android.arouter.launcher.ARouter.logger;
+import static com.alibaba.android.arouter.utils.Consts.AROUTER_CACHE_FILE;
+import static com.alibaba.android.arouter.utils.Consts.TAG;
+
+/**
+ * Binary cache of router map, replace the string set in SharedPreferences.
+ * <p>
+ * Layout, big endian:
+ * <pre>
+ * magic(4) | format version(4) | count(4) | payload length(4) | crc32 of payload(4) | payload
+ * payload = count * [shared prefix length(varint) | suffix length(varint) | suffix bytes]
+ * </pre>
+ * Names are sorted and front coded by the bytes shared with the previous name.
+ * The file is read through a memory map, and written to a temp file then renamed.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public class RouterMapCache {
+    private static final int MAGIC = 0x41524D43;    // ARMC
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String CHARSET = "UTF-8";
+
+    /**
+     * Read router map from cache.
+     *
+     * @param context ctx
+     * @return class names, or null when the cache is missing or corrupt, should rescan.
+     */
+    public static Set<String> read(Context context) {
+        return read(getCacheFile(context));
+    }
+
+    /**
+     * @return class names, or null when the file is missing or corrupt.
+     */
+    static Set<String> read(File cacheFile) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+
+        RandomAccessFile file = null;
+        try {
+            file = new RandomAccessFile(cacheFile, "r");
+            FileChannel channel = file.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                logger.warning(TAG, "Router map cache has unknown format, ignore it.");
+                return null;
+            }
+
+            int count = buffer.getInt(8);
+            int payloadLength = buffer.getInt(12);
+            int checksum = buffer.getInt(16);
+            if (count < 0 || payloadLength < 0 || HEADER_SIZE + payloadLength != buffer.limit()) {
+                logger.warning(TAG, "Router map cache is truncated, ignore it.");
+                return null;
+            }
+            if (checksum != checksum(buffer, HEADER_SIZE, payloadLength)) {
+                logger.warning(TAG, "Router map cache checksum mismatch, ignore it.");
+                return null;
+            }
+
+            return decode(buffer, count);
+        } catch (Exception e) {
+            logger.warning(TAG, "Read router map cache failed, " + e.getMessage());
+            return null;
+        } finally {
+            closeQuietly(file);
+        }
+    }
+
+    /**
+     * Write router map into cache off the current thread.
+     *
+     * @param context    ctx
+     * @param classNames class names
+     * @param executor   where to write
+     */
+    public static void writeAsync(final Context context, Collection<String> classNames, Executor executor) {
+        final List<String> sortedNames = new ArrayList<>(classNames);
+        Collections.sort(sortedNames);
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    write(getCacheFile(context), sortedNames);
+                } catch (Exception e) {
+                    logger.warning(TAG, "Write router map cache failed, " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static Set<String> decode(ByteBuffer buffer, int count) throws IOException {
+        Set<String> classNames = new HashSet<>(Math.max(16, (int) (count / .75f) + 1));
+        byte[] name = new byte[256];
+        int nameLength = 0;
+
+        buffer.position(HEADER_SIZE);
+        for (int i = 0; i < count; i++) {
+            int shared = readVarint(buffer);
+            int suffixLength = readVarint(buffer);
+            if (shared > nameLength || suffixLength > buffer.remaining()) {
+                throw new IOException("Bad entry at " + i);
+            }
+
+            nameLength = shared + suffixLength;
+            if (nameLength > name.length) {
+                byte[] larger = new byte[Math.max(nameLength, name.length * 2)];
+                System.arraycopy(name, 0, larger, 0, shared);
+                name = larger;
+            }
+            buffer.get(name, shared, suffixLength);
+
+            classNames.add(new String(name, 0, nameLength, CHARSET));
+        }
+
+        return classNames;
+    }
+
+    /**
+     * @param sortedNames class names in natural order, they are front coded
+     */
+    static void write(File cacheFile, List<String> sortedNames) throws IOException {
+        ByteArrayOutput payload = new ByteArrayOutput();
+        byte[] previous = new byte[0];
+        for (String className : sortedNames) {
+            byte[] name = className.getBytes(CHARSET);
+            int shared = 0;
+            int max = Math.min(previous.length, name.length);
+            while (shared < max && previous[shared] == name[shared]) {
+                shared++;
+            }
+
+            writeVarint(payload, shared);
+            writeVarint(payload, name.length - shared);
+            payload.write(name, shared, name.length - shared);
+            previous = name;
+        }
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload.buffer(), 0, payload.size());
+
+        File tempFile = new File(cacheFile.getPath() + TEMP_SUFFIX);
+        FileOutputStream fileOutput = new FileOutputStream(tempFile);
+        try {
+            DataOutputStream output = new DataOutputStream(fileOutput);
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(sortedNames.size());
+            output.writeInt(payload.size());
+            output.writeInt((int) crc32.getValue());
+            output.write(payload.buffer(), 0, payload.size());
+            output.flush();
+            fileOutput.getFD().sync();
+        } finally {
+            closeQuietly(fileOutput);
+        }
+
+        if (!tempFile.renameTo(cacheFile)) {
+            tempFile.delete();
+            throw new IOException("Rename " + tempFile + " failed.");
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc32 = new CRC32();
+        byte[] chunk = new byte[Math.min(length, 4096)];
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset);
+        int remaining = length;
+        while (remaining > 0) {
+            int count = Math.min(remaining, chunk.length);
+            duplicate.get(chunk, 0, count);
+            crc32.update(chunk, 0, count);
+            remaining -= count;
+        }
+        return (int) crc32.getValue();
+    }
+
+    private static int readVarint(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+    private static void writeVarint(ByteArrayOutput output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    private static File getCacheFile(Context context) {
+        return new File(context.getFilesDir(), AROUTER_CACHE_FILE);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (null != closeable) {
+            try {
+                closeable.close();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+
+    /**
+     * ByteArrayOutputStream which exposes its buffer, avoid copy.
+     */
+    private static class ByteArrayOutput extends ByteArrayOutputStream {
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
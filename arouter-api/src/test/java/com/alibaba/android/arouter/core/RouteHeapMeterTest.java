@@ -0,0 +1,142 @@
+package com.alibaba.android.arouter.core;
+
+import com.alibaba.android.arouter.base.CopyOnWriteMap;
+import com.alibaba.android.arouter.facade.enums.RouteType;
+import com.alibaba.android.arouter.facade.enums.TypeKind;
+import com.alibaba.android.arouter.facade.model.RouteMeta;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measure heap of params in route table, which has the same type as the loaded routes in Warehouse,
+ * filled by synthetic routes in legacy form (params in map) or compact form (params in arrays).
+ * <p>
+ * The size is counted from the objects each form holds, by the layout of 64-bit vm with compressed oops,
+ * so it's deterministic. The rest of route is same in both forms, it isn't counted.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public class RouteHeapMeterTest {
+    private static final int[] ROUTE_COUNTS = {1000, 10000, 50000};
+    // Most routes have a few params, and the names of params are repeated by routes.
+    private static final String[] PARAM_NAMES = {"id", "name", "age", "url"};
+    private static final byte[] PARAM_TYPES = {(byte) TypeKind.LONG.ordinal(), (byte) TypeKind.STRING.ordinal(), (byte) TypeKind.INT.ordinal(), (byte) TypeKind.STRING.ordinal()};
+    private static final int ROUTES_PER_GROUP = 20;
+
+    // Object layout
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int HASH_MAP = 48;
+    private static final int HASH_MAP_NODE = 32;
+    private static final int HASH_MAP_DEFAULT_CAPACITY = 16;
+
+    @Test
+    public void compactRoutesRetainLessHeap() {
+        for (int count : ROUTE_COUNTS) {
+            long legacy = measure(count, false);
+            long compact = measure(count, true);
+            assertTrue("Compact routes retain more heap, " + count + " routes, legacy [" + legacy + "] bytes, compact [" + compact + "] bytes",
+                    compact < legacy);
+        }
+    }
+
+    @Test
+    public void compactParamsAreNotCopied() {
+        RouteMeta routeMeta = RouteMeta.build(RouteType.ACTIVITY, RouteHeapMeterTest.class, "/test/compact", "test",
+                PARAM_NAMES.clone(), PARAM_TYPES.clone(), -1, Integer.MIN_VALUE);
+
+        // The arrays are held as they are, no copy for every read.
+        assertSame(routeMeta.getParamNames(), routeMeta.getParamNames());
+        assertSame(routeMeta.getParamTypes(), routeMeta.getParamTypes());
+        // The map is created once for the callers of legacy api.
+        assertSame(routeMeta.getParamsType(), routeMeta.getParamsType());
+        assertEquals(PARAM_NAMES.length, routeMeta.getParamsType().size());
+    }
+
+    /**
+     * Heap of params in route table.
+     *
+     * @param routeCount count of routes
+     * @param compact    params in arrays, or in map as legacy generated group
+     * @return bytes
+     */
+    private static long measure(int routeCount, boolean compact) {
+        Map<String, RouteMeta> routes = fill(routeCount, compact);
+        assertEquals(routeCount, routes.size());
+
+        long bytes = 0;
+        for (RouteMeta routeMeta : routes.values()) {
+            if (compact) {
+                String[] paramNames = routeMeta.getParamNames();
+                if (null != paramNames) {
+                    bytes += align(ARRAY_HEADER + REFERENCE * paramNames.length);
+                    bytes += align(ARRAY_HEADER + routeMeta.getParamTypes().length);
+                }
+            } else {
+                Map<String, Integer> paramsType = routeMeta.getParamsType();
+                if (null != paramsType) {
+                    int capacity = HASH_MAP_DEFAULT_CAPACITY;
+                    while (paramsType.size() > capacity * 3 / 4) {
+                        capacity <<= 1;
+                    }
+                    // Integer of type is cached by Integer.valueOf, it isn't counted.
+                    bytes += HASH_MAP + align(ARRAY_HEADER + REFERENCE * capacity) + HASH_MAP_NODE * paramsType.size();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static Map<String, RouteMeta> fill(int routeCount, boolean compact) {
+        Map<String, RouteMeta> routes = new CopyOnWriteMap<>();
+        Map<String, RouteMeta> atlas = new HashMap<>();
+        String group = null;
+        for (int i = 0; i < routeCount; i++) {
+            if (i % ROUTES_PER_GROUP == 0) {
+                // Same as group loaded, routes are published by group.
+                routes.putAll(atlas);
+                atlas.clear();
+                group = ("group" + i / ROUTES_PER_GROUP).intern();
+            }
+
+            String path = "/" + group + "/route" + i;
+            int paramCount = i % (PARAM_NAMES.length + 1);
+            RouteMeta routeMeta;
+            if (compact) {
+                String[] paramNames = null;
+                byte[] paramTypes = null;
+                if (paramCount > 0) {
+                    paramNames = new String[paramCount];
+                    paramTypes = new byte[paramCount];
+                    System.arraycopy(PARAM_NAMES, 0, paramNames, 0, paramCount);
+                    System.arraycopy(PARAM_TYPES, 0, paramTypes, 0, paramCount);
+                }
+                routeMeta = RouteMeta.build(RouteType.ACTIVITY, RouteHeapMeterTest.class, path, group, paramNames, paramTypes, -1, Integer.MIN_VALUE);
+            } else {
+                Map<String, Integer> paramsType = null;
+                if (paramCount > 0) {
+                    paramsType = new HashMap<>();
+                    for (int j = 0; j < paramCount; j++) {
+                        paramsType.put(PARAM_NAMES[j], (int) PARAM_TYPES[j]);
+                    }
+                }
+                routeMeta = new RouteMeta(RouteType.ACTIVITY, null, RouteHeapMeterTest.class, null, path, group, paramsType, -1, Integer.MIN_VALUE);
+            }
+            atlas.put(path, routeMeta);
+        }
+        routes.putAll(atlas);
+        return routes;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
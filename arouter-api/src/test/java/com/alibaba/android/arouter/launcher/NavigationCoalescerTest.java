@@ -0,0 +1,141 @@
+package com.alibaba.android.arouter.launcher;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import com.alibaba.android.arouter.facade.Postcard;
+import com.alibaba.android.arouter.facade.callback.NavigationCallback;
+import com.alibaba.android.arouter.facade.template.IExtrasFingerprint;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NavigationCoalescerTest {
+    private static final String PATH = "/test/activity";
+
+    private NavigationCoalescer coalescer;
+    private Context context;
+
+    @Before
+    public void setUp() {
+        coalescer = new NavigationCoalescer(500, new IExtrasFingerprint() {
+            @Override
+            public String fingerprint(Postcard postcard) {
+                return postcard.getPath();
+            }
+        });
+        context = new ContextWrapper(null);
+    }
+
+    @Test
+    public void duplicateIsMergedIntoLeader() {
+        RecordingCallback leaderCallback = new RecordingCallback();
+        NavigationCallback leader = lead(leaderCallback);
+        assertNotNull(leader);
+
+        RecordingCallback follower = new RecordingCallback();
+        assertTrue(coalescer.join(keyOf(), follower));
+        assertEquals("found", follower.events());
+
+        leader.onArrival(new Postcard(PATH, "test"));
+        assertEquals("arrival", leaderCallback.events());
+        assertEquals("found arrival", follower.events());
+
+        // Inside the window after it's over.
+        RecordingCallback late = new RecordingCallback();
+        assertTrue(coalescer.join(keyOf(), late));
+        assertEquals("found arrival", late.events());
+    }
+
+    @Test
+    public void overNavigationReleasesContext() {
+        Postcard postcard = new Postcard(PATH, "test");
+        postcard.setContext(context);
+        NavigationCallback leader = coalescer.lead(keyOf(), postcard, new RecordingCallback());
+
+        leader.onArrival(postcard);
+
+        // The entry stays in window, it mustn't hold the activity.
+        assertNull(postcard.getContext());
+    }
+
+    @Test
+    public void failedNavigationIsDropped() {
+        RecordingCallback leaderCallback = new RecordingCallback();
+        NavigationCallback leader = lead(leaderCallback);
+        RecordingCallback follower = new RecordingCallback();
+        assertTrue(coalescer.join(keyOf(), follower));
+
+        // Like startActivity throws ActivityNotFoundException, no callback of leader is called.
+        NavigationCoalescer.abort(leader);
+
+        assertEquals("", leaderCallback.events());
+        assertEquals("found interrupt", follower.events());
+        // The next same navigation isn't swallowed.
+        assertFalse(coalescer.join(keyOf(), new RecordingCallback()));
+        assertNotNull(lead(new RecordingCallback()));
+    }
+
+    @Test
+    public void abortOfOtherCallbackIsIgnored() {
+        RecordingCallback callback = new RecordingCallback();
+        NavigationCoalescer.abort(callback);
+        NavigationCoalescer.abort(null);
+
+        assertEquals("", callback.events());
+    }
+
+    private NavigationCallback lead(NavigationCallback callback) {
+        Postcard postcard = new Postcard(PATH, "test");
+        postcard.setContext(context);
+        return coalescer.lead(keyOf(), postcard, callback);
+    }
+
+    private NavigationCoalescer.Key keyOf() {
+        return coalescer.keyOf(context, new Postcard(PATH, "test"), -1);
+    }
+
+    private static class RecordingCallback implements NavigationCallback {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onFound(Postcard postcard) {
+            events.add("found");
+        }
+
+        @Override
+        public void onLost(Postcard postcard) {
+            events.add("lost");
+        }
+
+        @Override
+        public void onArrival(Postcard postcard) {
+            events.add("arrival");
+        }
+
+        @Override
+        public void onInterrupt(Postcard postcard) {
+            events.add("interrupt");
+        }
+
+        String events() {
+            StringBuilder builder = new StringBuilder();
+            for (String event : events) {
+                if (builder.length() > 0) {
+                    builder.append(' ');
+                }
+                builder.append(event);
+            }
+            return builder.toString();
+        }
+    }
+}
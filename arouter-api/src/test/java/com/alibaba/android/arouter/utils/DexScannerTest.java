@@ -0,0 +1,235 @@
+package com.alibaba.android.arouter.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DexScannerTest {
+    private static final String PACKAGE = "com.alibaba.android.arouter.routes";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void scanDex() throws IOException {
+        File file = save("classes.dex", dex(
+                Arrays.asList(
+                        "Lcom/alibaba/android/arouter/routes/ARouter$$Group$$a;",
+                        "Lcom/alibaba/android/arouter/routes/ARouter$$Root$$app;",
+                        "Lcom/alibaba/android/arouter/routes/Referenced;",
+                        "Lcom/alibaba/android/arouter/routesx/Other;",
+                        "Lcom/example/Main;",
+                        "Ljava/lang/Object;"),
+                Arrays.asList(
+                        "Lcom/alibaba/android/arouter/routes/ARouter$$Group$$a;",
+                        "Lcom/alibaba/android/arouter/routes/ARouter$$Root$$app;",
+                        "Lcom/alibaba/android/arouter/routesx/Other;",
+                        "Lcom/example/Main;")));
+
+        Set<String> result = new HashSet<>();
+        assertEquals(1, DexScanner.scan(file.getPath(), PACKAGE, result));
+        // The type only referenced by this dex is not a class of it.
+        assertEquals(new HashSet<>(Arrays.asList(
+                "com.alibaba.android.arouter.routes.ARouter$$Group$$a",
+                "com.alibaba.android.arouter.routes.ARouter$$Root$$app")), result);
+    }
+
+    @Test
+    public void scanDexWithoutMatch() throws IOException {
+        File file = save("classes.dex", dex(
+                Arrays.asList("Lcom/example/Main;", "Ljava/lang/Object;"),
+                Collections.singletonList("Lcom/example/Main;")));
+
+        Set<String> result = new HashSet<>();
+        assertEquals(1, DexScanner.scan(file.getPath(), PACKAGE, result));
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void scanZip() throws IOException {
+        byte[] first = dex(
+                Arrays.asList("Lcom/alibaba/android/arouter/routes/ARouter$$Root$$app;", "Lcom/example/Main;"),
+                Arrays.asList("Lcom/alibaba/android/arouter/routes/ARouter$$Root$$app;", "Lcom/example/Main;"));
+        byte[] second = dex(
+                Collections.singletonList("Lcom/alibaba/android/arouter/routes/ARouter$$Providers$$app;"),
+                Collections.singletonList("Lcom/alibaba/android/arouter/routes/ARouter$$Providers$$app;"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(bytes);
+        putEntry(zip, "AndroidManifest.xml", new byte[]{1, 2, 3}, false);
+        putEntry(zip, "classes.dex", first, true);
+        putEntry(zip, "classes2.dex", second, true);
+        putEntry(zip, "assets/classes.dex", first, false);
+        zip.close();
+        File file = save("base.apk", bytes.toByteArray());
+
+        Set<String> result = new HashSet<>();
+        assertEquals(2, DexScanner.scan(file.getPath(), PACKAGE, result));
+        assertEquals(new HashSet<>(Arrays.asList(
+                "com.alibaba.android.arouter.routes.ARouter$$Root$$app",
+                "com.alibaba.android.arouter.routes.ARouter$$Providers$$app")), result);
+    }
+
+    @Test
+    public void deflatedDexInZip() throws IOException {
+        byte[] dex = dex(
+                Collections.singletonList("Lcom/alibaba/android/arouter/routes/ARouter$$Root$$app;"),
+                Collections.singletonList("Lcom/alibaba/android/arouter/routes/ARouter$$Root$$app;"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(bytes);
+        putEntry(zip, "classes.dex", dex, true);
+        putEntry(zip, "classes2.dex", dex, false);
+        zip.close();
+
+        // It isn't inflated on heap, nothing is scanned and the caller falls back to DexFile.
+        Set<String> result = new HashSet<>();
+        try {
+            DexScanner.scan(save("base.apk", bytes.toByteArray()).getPath(), PACKAGE, result);
+            fail("Deflated dex is scanned");
+        } catch (IOException expected) {
+            assertTrue(result.isEmpty());
+        }
+    }
+
+    @Test
+    public void badMagic() throws IOException {
+        byte[] dex = dex(Collections.singletonList("Lcom/example/Main;"), Collections.singletonList("Lcom/example/Main;"));
+        dex[0] = 'x';
+
+        assertCorrupt(save("classes.dex", dex));
+    }
+
+    @Test
+    public void truncatedDex() throws IOException {
+        byte[] dex = dex(
+                Arrays.asList("Lcom/alibaba/android/arouter/routes/ARouter$$Root$$app;", "Lcom/example/Main;"),
+                Arrays.asList("Lcom/alibaba/android/arouter/routes/ARouter$$Root$$app;", "Lcom/example/Main;"));
+
+        assertCorrupt(save("classes.dex", Arrays.copyOf(dex, 0x80)));
+        assertCorrupt(save("classes.dex", Arrays.copyOf(dex, 0x10)));
+    }
+
+    @Test
+    public void truncatedZip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(bytes);
+        putEntry(zip, "classes.dex", dex(Collections.singletonList("Lcom/example/Main;"), Collections.singletonList("Lcom/example/Main;")), true);
+        zip.close();
+        byte[] apk = bytes.toByteArray();
+
+        assertCorrupt(save("base.apk", Arrays.copyOf(apk, apk.length - 10)));
+        assertCorrupt(save("base.apk", Arrays.copyOf(apk, 40)));
+    }
+
+    private void assertCorrupt(File file) {
+        try {
+            DexScanner.scan(file.getPath(), PACKAGE, new HashSet<String>());
+            fail("Corrupt file is scanned: " + file.length() + " bytes");
+        } catch (IOException expected) {
+            // Caller falls back to DexFile.
+        }
+    }
+
+    private File save(String name, byte[] content) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        FileOutputStream output = new FileOutputStream(file);
+        try {
+            output.write(content);
+        } finally {
+            output.close();
+        }
+        return file;
+    }
+
+    private static void putEntry(ZipOutputStream zip, String name, byte[] content, boolean stored) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        if (stored) {
+            CRC32 crc32 = new CRC32();
+            crc32.update(content);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(content.length);
+            entry.setCompressedSize(content.length);
+            entry.setCrc(crc32.getValue());
+        }
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    /**
+     * Minimal dex, only the tables which are read by scanner: header, string ids, type ids and class defs.
+     *
+     * @param descriptors types of this dex, every one has its own string
+     * @param defined     types which are defined by this dex
+     */
+    private static byte[] dex(List<String> descriptors, List<String> defined) throws IOException {
+        List<String> types = new ArrayList<>(descriptors);
+        Collections.sort(types);
+
+        int headerSize = 0x70;
+        int stringIdsOffset = headerSize;
+        int typeIdsOffset = stringIdsOffset + types.size() * 4;
+        int classDefsOffset = typeIdsOffset + types.size() * 4;
+        int dataOffset = classDefsOffset + defined.size() * 0x20;
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        int[] stringOffsets = new int[types.size()];
+        for (int i = 0; i < types.size(); i++) {
+            stringOffsets[i] = dataOffset + data.size();
+            byte[] utf8 = types.get(i).getBytes("UTF-8");
+            // uleb128 utf16 size, the descriptors are ascii.
+            int size = types.get(i).length();
+            while ((size & ~0x7F) != 0) {
+                data.write((size & 0x7F) | 0x80);
+                size >>>= 7;
+            }
+            data.write(size);
+            data.write(utf8);
+            data.write(0);
+        }
+
+        ByteBuffer dex = ByteBuffer.allocate(dataOffset + data.size()).order(ByteOrder.LITTLE_ENDIAN);
+        dex.put("dex\n035\0".getBytes("UTF-8"));
+        dex.putInt(0x20, dex.capacity());
+        dex.putInt(0x24, headerSize);
+        dex.putInt(0x38, types.size());
+        dex.putInt(0x3C, stringIdsOffset);
+        dex.putInt(0x40, types.size());
+        dex.putInt(0x44, typeIdsOffset);
+        dex.putInt(0x60, defined.size());
+        dex.putInt(0x64, classDefsOffset);
+
+        for (int i = 0; i < types.size(); i++) {
+            dex.putInt(stringIdsOffset + i * 4, stringOffsets[i]);
+            dex.putInt(typeIdsOffset + i * 4, i);
+        }
+        for (int i = 0; i < defined.size(); i++) {
+            dex.putInt(classDefsOffset + i * 0x20, types.indexOf(defined.get(i)));
+        }
+
+        dex.position(dataOffset);
+        dex.put(data.toByteArray());
+        return dex.array();
+    }
+}
@@ -0,0 +1,143 @@
+package com.alibaba.android.arouter.utils;
+
+import com.alibaba.android.arouter.launcher.ARouter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class RouterMapCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File cacheFile;
+
+    @Before
+    public void setUp() {
+        ARouter.logger = new DefaultLogger();
+        cacheFile = new File(folder.getRoot(), "arouter-cache.bin");
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        StringBuilder longName = new StringBuilder("com.alibaba.android.arouter.routes.ARouter$$Group$$");
+        for (int i = 0; i < 300; i++) {
+            longName.append('x');
+        }
+        Set<String> names = new HashSet<>(Arrays.asList(
+                "com.alibaba.android.arouter.routes.ARouter$$Root$$app",
+                "com.alibaba.android.arouter.routes.ARouter$$Root$$module",
+                "com.alibaba.android.arouter.routes.ARouter$$Providers$$app",
+                "com.alibaba.android.arouter.routes.ARouter$$Group$$测试",
+                "a",
+                longName.toString()));
+
+        write(names);
+
+        assertEquals(names, RouterMapCache.read(cacheFile));
+        assertFalse("Temp file is left", new File(cacheFile.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void roundTripEmpty() throws IOException {
+        write(Collections.<String>emptySet());
+
+        assertEquals(Collections.<String>emptySet(), RouterMapCache.read(cacheFile));
+    }
+
+    @Test
+    public void overwrite() throws IOException {
+        write(new HashSet<>(Arrays.asList("a.A", "a.B", "a.C")));
+        Set<String> names = new HashSet<>(Collections.singletonList("b.A"));
+        write(names);
+
+        assertEquals(names, RouterMapCache.read(cacheFile));
+    }
+
+    @Test
+    public void missing() {
+        assertNull(RouterMapCache.read(cacheFile));
+    }
+
+    @Test
+    public void corruptPayload() throws IOException {
+        write(new HashSet<>(Arrays.asList("a.A", "a.B")));
+        RandomAccessFile file = new RandomAccessFile(cacheFile, "rw");
+        try {
+            file.seek(file.length() - 1);
+            int last = file.read();
+            file.seek(file.length() - 1);
+            file.write(last ^ 0xFF);
+        } finally {
+            file.close();
+        }
+
+        assertNull(RouterMapCache.read(cacheFile));
+    }
+
+    @Test
+    public void badMagic() throws IOException {
+        write(new HashSet<>(Arrays.asList("a.A", "a.B")));
+        RandomAccessFile file = new RandomAccessFile(cacheFile, "rw");
+        try {
+            file.writeInt(0);
+        } finally {
+            file.close();
+        }
+
+        assertNull(RouterMapCache.read(cacheFile));
+    }
+
+    @Test
+    public void truncated() throws IOException {
+        write(new HashSet<>(Arrays.asList("a.A", "a.B")));
+        long length = cacheFile.length();
+
+        for (long size : new long[]{length - 1, 20, 10, 0}) {
+            RandomAccessFile file = new RandomAccessFile(cacheFile, "rw");
+            try {
+                file.setLength(size);
+            } finally {
+                file.close();
+            }
+
+            assertNull("Truncated to " + size, RouterMapCache.read(cacheFile));
+        }
+    }
+
+    @Test
+    public void countMismatch() throws IOException {
+        write(new HashSet<>(Arrays.asList("a.A", "a.B")));
+        // The checksum covers payload only, a wrong count is found by decoding.
+        RandomAccessFile file = new RandomAccessFile(cacheFile, "rw");
+        try {
+            file.seek(8);
+            file.writeInt(3);
+        } finally {
+            file.close();
+        }
+
+        assertNull(RouterMapCache.read(cacheFile));
+    }
+
+    private void write(Set<String> names) throws IOException {
+        List<String> sortedNames = new ArrayList<>(names);
+        Collections.sort(sortedNames);
+        RouterMapCache.write(cacheFile, sortedNames);
+    }
+}
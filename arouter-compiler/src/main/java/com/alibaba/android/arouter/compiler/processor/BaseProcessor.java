@@ -2,6 +2,8 @@ package com.alibaba.android.arouter.compiler.processor;
 
 import com.alibaba.android.arouter.compiler.utils.Logger;
 import com.alibaba.android.arouter.compiler.utils.TypeUtils;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.MethodSpec;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -9,6 +11,12 @@ import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import java.util.HashSet;
@@ -35,6 +43,10 @@ public abstract class BaseProcessor extends AbstractProcessor {
     String moduleName = null;
     // If need generate router doc
     boolean generateDoc;
+    // If need generate route manifest, which will be merged by plugin
+    boolean generateManifest;
+    // Full name of services locator, which gets the providers of this module, null means not generated
+    String servicesClassName;
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -51,6 +63,8 @@ public abstract class BaseProcessor extends AbstractProcessor {
         if (MapUtils.isNotEmpty(options)) {
             moduleName = options.get(KEY_MODULE_NAME);
             generateDoc = VALUE_ENABLE.equals(options.get(KEY_GENERATE_DOC_NAME));
+            generateManifest = VALUE_ENABLE.equals(options.get(KEY_GENERATE_MANIFEST_NAME));
+            servicesClassName = StringUtils.trimToNull(options.get(KEY_SERVICES_CLASS_NAME));
         }
 
         if (StringUtils.isNotEmpty(moduleName)) {
@@ -63,6 +77,52 @@ public abstract class BaseProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * Whether the class can be created by 'new' in generated package, without params.
+     * It must be public, concrete, not inner, and has public constructor without params.
+     */
+    boolean isInstantiable(TypeElement element) {
+        if (element.getModifiers().contains(Modifier.ABSTRACT)
+                || (element.getEnclosingElement().getKind() != ElementKind.PACKAGE && !element.getModifiers().contains(Modifier.STATIC))) {
+            return false;
+        }
+        // The class and the classes enclose it are visible in generated package.
+        for (Element current = element; current.getKind() != ElementKind.PACKAGE; current = current.getEnclosingElement()) {
+            if (!current.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build method : 'newInstance', create the destination by its id, null if the id is unknown.
+     *
+     * @param destinations id -> class of destination
+     */
+    MethodSpec buildNewInstanceMethod(Map<Integer, ClassName> destinations) {
+        MethodSpec.Builder newInstanceMethodBuilder = MethodSpec.methodBuilder(METHOD_NEW_INSTANCE)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(Object.class)
+                .addParameter(int.class, "id");
+        if (MapUtils.isNotEmpty(destinations)) {
+            newInstanceMethodBuilder.beginControlFlow("switch (id)");
+            for (Map.Entry<Integer, ClassName> entry : destinations.entrySet()) {
+                newInstanceMethodBuilder.addCode("case $L:\n", entry.getKey())
+                        .addStatement("$>return new $T()$<", entry.getValue());
+            }
+            newInstanceMethodBuilder.endControlFlow();
+        }
+        return newInstanceMethodBuilder.addStatement("return null").build();
+    }
+
     @Override
     public SourceVersion getSupportedSourceVersion() {
         return SourceVersion.latestSupported();
@@ -73,6 +133,8 @@ public abstract class BaseProcessor extends AbstractProcessor {
         return new HashSet<String>() {{
             this.add(KEY_MODULE_NAME);
             this.add(KEY_GENERATE_DOC_NAME);
+            this.add(KEY_GENERATE_MANIFEST_NAME);
+            this.add(KEY_SERVICES_CLASS_NAME);
         }};
     }
 }
@@ -2,8 +2,10 @@ package com.alibaba.android.arouter.compiler.processor;
 
 import com.alibaba.android.arouter.compiler.utils.Consts;
 import com.alibaba.android.arouter.facade.annotation.Interceptor;
+import com.alibaba.android.arouter.facade.enums.RouteType;
 import com.google.auto.service.AutoService;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
@@ -12,6 +14,7 @@ import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.WildcardTypeName;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 import java.util.Locale;
@@ -105,6 +108,12 @@ public class InterceptorProcessor extends BaseProcessor {
                         );
                     }
 
+                    for (String path : interceptor.paths()) {
+                        if (StringUtils.isEmpty(path) || !path.startsWith("/")) {
+                            throw new IllegalArgumentException("The scope path of interceptor [" + element.getSimpleName() + "] must start with '/', but it's [" + path + "].");
+                        }
+                    }
+
                     // 将拦截器按照优先级高低进行排序保存
                     interceptors.put(interceptor.priority(), element);
                 } else {
@@ -117,6 +126,12 @@ public class InterceptorProcessor extends BaseProcessor {
             TypeElement type_IInterceptor = elementUtils.getTypeElement(IINTERCEPTOR);
             // 拿到 IInterceptorGroup 这个接口的类型抽象
             TypeElement type_IInterceptorGroup = elementUtils.getTypeElement(IINTERCEPTOR_GROUP);
+            // Scopes are generated if arouter-api supports it.
+            TypeElement type_IInterceptorScopeGroup = elementUtils.getTypeElement(IINTERCEPTOR_SCOPE_GROUP);
+            TypeElement type_InterceptorScope = elementUtils.getTypeElement(INTERCEPTOR_SCOPE);
+            boolean generateScope = null != type_IInterceptorScopeGroup && null != type_InterceptorScope;
+            // Interceptors are created by the generated code, if arouter-annotation supports it.
+            TypeElement type_Instantiator = elementUtils.getTypeElement(INSTANTIATOR);
 
             /**
              *  Build input type, format as :
@@ -154,21 +169,91 @@ public class InterceptorProcessor extends BaseProcessor {
                 }
             }
 
+            TypeSpec.Builder tollgateBuilder = TypeSpec.classBuilder(NAME_OF_INTERCEPTOR + SEPARATOR + moduleName) // 设置类名
+                    .addModifiers(PUBLIC) // 添加 public 修饰符
+                    .addJavadoc(WARNING_TIPS) // 添加注释
+                    .addMethod(loadIntoMethodOfTollgateBuilder.build()); // 添加 loadInto 方法
+
+            if (generateScope) {
+                // 生成 loadScopeInto 方法，只包含声明了作用范围的拦截器，如 scopes.put(7, InterceptorScope.build(new String[]{"/test/"}, null, null, 0));
+                ParameterizedTypeName inputMapTypeOfScope = ParameterizedTypeName.get(
+                        ClassName.get(Map.class),
+                        ClassName.get(Integer.class),
+                        ClassName.get(type_InterceptorScope)
+                );
+                MethodSpec.Builder loadScopeIntoMethodBuilder = MethodSpec.methodBuilder(METHOD_LOAD_SCOPE_INTO)
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .addParameter(ParameterSpec.builder(inputMapTypeOfScope, "scopes").build());
+
+                ClassName routeTypeClassName = ClassName.get(RouteType.class);
+                for (Map.Entry<Integer, Element> entry : interceptors.entrySet()) {
+                    Interceptor interceptor = entry.getValue().getAnnotation(Interceptor.class);
+                    if (interceptor.paths().length == 0 && interceptor.groups().length == 0 && interceptor.types().length == 0 && interceptor.extras() == 0) {
+                        continue;
+                    }
+
+                    CodeBlock.Builder scopeBuilder = CodeBlock.builder().add("scopes.put($L, $T.build(", entry.getKey(), type_InterceptorScope);
+                    addStringArray(scopeBuilder, interceptor.paths());
+                    scopeBuilder.add(", ");
+                    addStringArray(scopeBuilder, interceptor.groups());
+                    scopeBuilder.add(", ");
+                    if (interceptor.types().length == 0) {
+                        scopeBuilder.add("null");
+                    } else {
+                        scopeBuilder.add("new $T[]{", routeTypeClassName);
+                        for (int i = 0; i < interceptor.types().length; i++) {
+                            scopeBuilder.add(i == 0 ? "$T.$L" : ", $T.$L", routeTypeClassName, interceptor.types()[i].name());
+                        }
+                        scopeBuilder.add("}");
+                    }
+                    scopeBuilder.add(", $L))", interceptor.extras());
+                    loadScopeIntoMethodBuilder.addStatement("$L", scopeBuilder.build());
+                }
+
+                tollgateBuilder.addMethod(loadScopeIntoMethodBuilder.build())
+                        .addSuperinterface(ClassName.get(type_IInterceptorScopeGroup)); // 同时实现了 IInterceptorScopeGroup 接口
+            }
+            if (null != type_Instantiator) {
+                // 生成 newInstance 方法，以优先级为 id 直接构建拦截器，如 case 7: return new Test1Interceptor();
+                Map<Integer, ClassName> destinations = new TreeMap<>();
+                for (Map.Entry<Integer, Element> entry : interceptors.entrySet()) {
+                    if (isInstantiable((TypeElement) entry.getValue())) {
+                        destinations.put(entry.getKey(), ClassName.get((TypeElement) entry.getValue()));
+                    }
+                }
+                if (!destinations.isEmpty()) {
+                    tollgateBuilder.addMethod(buildNewInstanceMethod(destinations))
+                            .addSuperinterface(ClassName.get(type_Instantiator));
+                }
+            }
+            // Implement IInterceptorGroup directly as well, arouter-register plugin only checks the direct interfaces.
+            tollgateBuilder.addSuperinterface(ClassName.get(type_IInterceptorGroup)); // 最后生成的类同时实现了 IInterceptorGroup 接口
+
             // Write to disk(Write file even interceptors is empty.)
             // 生成类名
-            JavaFile.builder(PACKAGE_OF_GENERATE_FILE,
-                    TypeSpec.classBuilder(NAME_OF_INTERCEPTOR + SEPARATOR + moduleName) // 设置类名
-                            .addModifiers(PUBLIC) // 添加 public 修饰符
-                            .addJavadoc(WARNING_TIPS) // 添加注释
-                            .addMethod(loadIntoMethodOfTollgateBuilder.build()) // 添加 loadInto 方法
-                            .addSuperinterface(ClassName.get(type_IInterceptorGroup)) // 最后生成的类同时实现了 IInterceptorGroup 接口
-                            .build()
-            ).build().writeTo(mFiler);
+            JavaFile.builder(PACKAGE_OF_GENERATE_FILE, tollgateBuilder.build()).build().writeTo(mFiler);
 
             logger.info(">>> Interceptor group write over. <<<");
         }
     }
 
+    /**
+     * Add code of string array, or null if it's empty.
+     */
+    private void addStringArray(CodeBlock.Builder builder, String[] values) {
+        if (values.length == 0) {
+            builder.add("null");
+            return;
+        }
+
+        builder.add("new String[]{");
+        for (int i = 0; i < values.length; i++) {
+            builder.add(i == 0 ? "$S" : ", $S", values[i]);
+        }
+        builder.add("}");
+    }
+
     /**
      * Verify inteceptor meta
      *
@@ -177,8 +262,8 @@ public class InterceptorProcessor extends BaseProcessor {
      */
     private boolean verify(Element element) {
         Interceptor interceptor = element.getAnnotation(Interceptor.class);
-        // It must be implement the interface IInterceptor and marked with annotation Interceptor.
-        // 它必须实现IInterceptor接口，并标记为Interceptor注解。
-        return null != interceptor && ((TypeElement) element).getInterfaces().contains(iInterceptor);
+        // It must be implement the interface IInterceptor (or its sub interface, like INonBlockingInterceptor) and marked with annotation Interceptor.
+        // 它必须实现IInterceptor接口（或其子接口），并标记为Interceptor注解。
+        return null != interceptor && types.isSubtype(element.asType(), iInterceptor);
     }
 }
@@ -2,6 +2,7 @@ package com.alibaba.android.arouter.compiler.processor;
 
 import com.alibaba.android.arouter.compiler.entity.RouteDoc;
 import com.alibaba.android.arouter.compiler.utils.Consts;
+import com.alibaba.android.arouter.compiler.utils.RouteManifestWriter;
 import com.alibaba.android.arouter.facade.annotation.Autowired;
 import com.alibaba.android.arouter.facade.annotation.Route;
 import com.alibaba.android.arouter.facade.enums.RouteType;
@@ -11,10 +12,12 @@ import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 import com.google.auto.service.AutoService;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.WildcardTypeName;
 
@@ -23,6 +26,7 @@ import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -38,7 +42,10 @@ import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.StandardLocation;
@@ -47,11 +54,20 @@ import static com.alibaba.android.arouter.compiler.utils.Consts.ACTIVITY;
 import static com.alibaba.android.arouter.compiler.utils.Consts.ANNOTATION_TYPE_AUTOWIRED;
 import static com.alibaba.android.arouter.compiler.utils.Consts.ANNOTATION_TYPE_ROUTE;
 import static com.alibaba.android.arouter.compiler.utils.Consts.FRAGMENT;
+import static com.alibaba.android.arouter.compiler.utils.Consts.INSTANTIATOR;
+import static com.alibaba.android.arouter.compiler.utils.Consts.IPROVIDER_FACTORY;
 import static com.alibaba.android.arouter.compiler.utils.Consts.IPROVIDER_GROUP;
+import static com.alibaba.android.arouter.compiler.utils.Consts.IROUTE_FACTORY_ROOT;
+import static com.alibaba.android.arouter.compiler.utils.Consts.IROUTE_GROUP_FACTORY;
 import static com.alibaba.android.arouter.compiler.utils.Consts.IROUTE_GROUP;
+import static com.alibaba.android.arouter.compiler.utils.Consts.LOGISTICS_CENTER;
+import static com.alibaba.android.arouter.compiler.utils.Consts.PROVIDER_HOLDER;
 import static com.alibaba.android.arouter.compiler.utils.Consts.ITROUTE_ROOT;
+import static com.alibaba.android.arouter.compiler.utils.Consts.METHOD_CREATE_GROUP;
+import static com.alibaba.android.arouter.compiler.utils.Consts.METHOD_LOAD_FACTORY_INTO;
 import static com.alibaba.android.arouter.compiler.utils.Consts.METHOD_LOAD_INTO;
 import static com.alibaba.android.arouter.compiler.utils.Consts.NAME_OF_GROUP;
+import static com.alibaba.android.arouter.compiler.utils.Consts.NAME_OF_MANIFEST;
 import static com.alibaba.android.arouter.compiler.utils.Consts.NAME_OF_PROVIDER;
 import static com.alibaba.android.arouter.compiler.utils.Consts.NAME_OF_ROOT;
 import static com.alibaba.android.arouter.compiler.utils.Consts.PACKAGE_OF_GENERATE_DOCS;
@@ -59,7 +75,11 @@ import static com.alibaba.android.arouter.compiler.utils.Consts.PACKAGE_OF_GENER
 import static com.alibaba.android.arouter.compiler.utils.Consts.SEPARATOR;
 import static com.alibaba.android.arouter.compiler.utils.Consts.SERVICE;
 import static com.alibaba.android.arouter.compiler.utils.Consts.WARNING_TIPS;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.element.Modifier.VOLATILE;
 
 /**
  * A processor used for find route.
@@ -137,6 +157,14 @@ public class RouteProcessor extends BaseProcessor {
             // Interface of ARouter
             TypeElement type_IRouteGroup = elementUtils.getTypeElement(IROUTE_GROUP);
             TypeElement type_IProviderGroup = elementUtils.getTypeElement(IPROVIDER_GROUP);
+            // Missing when old version of arouter-api is used, only the class of group can be put in root.
+            TypeElement type_IRouteFactoryRoot = elementUtils.getTypeElement(IROUTE_FACTORY_ROOT);
+            TypeElement type_IRouteGroupFactory = elementUtils.getTypeElement(IROUTE_GROUP_FACTORY);
+            boolean generateGroupFactory = null != type_IRouteFactoryRoot && null != type_IRouteGroupFactory;
+            // Params can be generated as arrays, if RouteMeta of arouter-annotation supports it.
+            boolean generateParamsArray = hasParamsArrayBuilder();
+            // Providers and fragments are created by the generated code, if arouter-annotation supports it.
+            TypeElement type_Instantiator = elementUtils.getTypeElement(INSTANTIATOR);
             ClassName routeMetaCn = ClassName.get(RouteMeta.class);
             ClassName routeTypeCn = ClassName.get(RouteType.class);
 
@@ -164,6 +192,15 @@ public class RouteProcessor extends BaseProcessor {
                     ClassName.get(RouteMeta.class)
             );
 
+            /*
+              ```Map<String, IRouteGroupFactory>```
+             */
+            ParameterizedTypeName inputMapTypeOfFactory = generateGroupFactory ? ParameterizedTypeName.get(
+                    ClassName.get(Map.class),
+                    ClassName.get(String.class),
+                    ClassName.get(type_IRouteGroupFactory)
+            ) : null;
+
             /*
               Build input param name.
              */
@@ -179,6 +216,23 @@ public class RouteProcessor extends BaseProcessor {
                     .addModifiers(PUBLIC)
                     .addParameter(rootParamSpec);
 
+            /*
+              Build method : 'loadFactoryInto' and 'createGroup', root is the factory of its groups.
+             */
+            MethodSpec.Builder loadFactoryIntoMethodOfRootBuilder = null;
+            MethodSpec.Builder createGroupMethodOfRootBuilder = null;
+            if (generateGroupFactory) {
+                loadFactoryIntoMethodOfRootBuilder = MethodSpec.methodBuilder(METHOD_LOAD_FACTORY_INTO)
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .addParameter(ParameterSpec.builder(inputMapTypeOfFactory, "factories").build());
+                createGroupMethodOfRootBuilder = MethodSpec.methodBuilder(METHOD_CREATE_GROUP)
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .returns(ClassName.get(type_IRouteGroup))
+                        .addParameter(String.class, "groupName");
+            }
+
             //  Follow a sequence, find out metas of group first, generate java file, then statistics them as root.
             for (Element element : routeElements) {
                 TypeMirror tm = element.asType();
@@ -222,6 +276,11 @@ public class RouteProcessor extends BaseProcessor {
                     .addParameter(providerParamSpec);
 
             Map<String, List<RouteDoc>> docSource = new HashMap<>();
+            // Service and its provider, for services locator
+            Map<TypeElement, TypeElement> services = new HashMap<>();
+            // Id -> provider, created by the provider map
+            Map<Integer, ClassName> providerDestinations = new TreeMap<>();
+            RouteManifestWriter manifestWriter = generateManifest ? new RouteManifestWriter(moduleName) : null;
 
             // Start generate java source, structure is divided into upper and lower levels, used for demand initialization.
             for (Map.Entry<String, Set<RouteMeta>> entry : groupMap.entrySet()) {
@@ -233,6 +292,8 @@ public class RouteProcessor extends BaseProcessor {
                         .addParameter(groupParamSpec);
 
                 List<RouteDoc> routeDocList = new ArrayList<>();
+                // Id -> provider or fragment, created by the group
+                Map<Integer, ClassName> groupDestinations = new TreeMap<>();
 
                 // Build group method body
                 Set<RouteMeta> groupData = entry.getValue();
@@ -240,17 +301,27 @@ public class RouteProcessor extends BaseProcessor {
                     RouteDoc routeDoc = extractDocInfo(routeMeta);
 
                     ClassName className = ClassName.get((TypeElement) routeMeta.getRawType());
+                    boolean instantiable = null != type_Instantiator
+                            && (routeMeta.getType() == RouteType.PROVIDER || routeMeta.getType() == RouteType.FRAGMENT)
+                            && isInstantiable((TypeElement) routeMeta.getRawType());
 
                     switch (routeMeta.getType()) {
                         case PROVIDER:  // Need cache provider's super class
+                            String providerInstantiator = "";
+                            if (instantiable) {
+                                int id = providerDestinations.size();
+                                providerDestinations.put(id, className);
+                                providerInstantiator = ".setInstantiator(this, " + id + ")";
+                            }
                             List<? extends TypeMirror> interfaces = ((TypeElement) routeMeta.getRawType()).getInterfaces();
                             for (TypeMirror tm : interfaces) {
                                 routeDoc.addPrototype(tm.toString());
 
                                 if (types.isSameType(tm, iProvider)) {   // Its implements iProvider interface himself.
+                                    collectService(services, (TypeElement) routeMeta.getRawType(), (TypeElement) routeMeta.getRawType());
                                     // This interface extend the IProvider, so it can be used for mark provider
                                     loadIntoMethodOfProviderBuilder.addStatement(
-                                            "providers.put($S, $T.build($T." + routeMeta.getType() + ", $T.class, $S, $S, null, " + routeMeta.getPriority() + ", " + routeMeta.getExtra() + "))",
+                                            "providers.put($S, $T.build($T." + routeMeta.getType() + ", $T.class, $S, $S, null, " + routeMeta.getPriority() + ", " + routeMeta.getExtra() + ")" + providerInstantiator + ")",
                                             (routeMeta.getRawType()).toString(),
                                             routeMetaCn,
                                             routeTypeCn,
@@ -258,9 +329,10 @@ public class RouteProcessor extends BaseProcessor {
                                             routeMeta.getPath(),
                                             routeMeta.getGroup());
                                 } else if (types.isSubtype(tm, iProvider)) {
+                                    collectService(services, (TypeElement) types.asElement(tm), (TypeElement) routeMeta.getRawType());
                                     // This interface extend the IProvider, so it can be used for mark provider
                                     loadIntoMethodOfProviderBuilder.addStatement(
-                                            "providers.put($S, $T.build($T." + routeMeta.getType() + ", $T.class, $S, $S, null, " + routeMeta.getPriority() + ", " + routeMeta.getExtra() + "))",
+                                            "providers.put($S, $T.build($T." + routeMeta.getType() + ", $T.class, $S, $S, null, " + routeMeta.getPriority() + ", " + routeMeta.getExtra() + ")" + providerInstantiator + ")",
                                             tm.toString(),    // So stupid, will duplicate only save class name.
                                             routeMetaCn,
                                             routeTypeCn,
@@ -276,6 +348,9 @@ public class RouteProcessor extends BaseProcessor {
 
                     // Make map body for paramsType
                     StringBuilder mapBodyBuilder = new StringBuilder();
+                    // Or make arrays of names and types, in the same order
+                    StringBuilder namesBuilder = new StringBuilder();
+                    StringBuilder typesBuilder = new StringBuilder();
                     Map<String, Integer> paramsType = routeMeta.getParamsType();
                     Map<String, Autowired> injectConfigs = routeMeta.getInjectConfig();
                     if (MapUtils.isNotEmpty(paramsType)) {
@@ -283,6 +358,8 @@ public class RouteProcessor extends BaseProcessor {
 
                         for (Map.Entry<String, Integer> types : paramsType.entrySet()) {
                             mapBodyBuilder.append("put(\"").append(types.getKey()).append("\", ").append(types.getValue()).append("); ");
+                            namesBuilder.append(namesBuilder.length() == 0 ? "" : ", ").append("\"").append(types.getKey()).append("\"");
+                            typesBuilder.append(typesBuilder.length() == 0 ? "" : ", ").append(types.getValue());
 
                             RouteDoc.Param param = new RouteDoc.Param();
                             Autowired injectConfig = injectConfigs.get(types.getKey());
@@ -297,9 +374,23 @@ public class RouteProcessor extends BaseProcessor {
                         routeDoc.setParams(paramList);
                     }
                     String mapBody = mapBodyBuilder.toString();
+                    String paramsBody;
+                    if (generateParamsArray) {
+                        // No anonymous map class per route, and no boxed types on heap.
+                        paramsBody = StringUtils.isEmpty(mapBody) ? "null, null" : ("new String[]{" + namesBuilder + "}, new byte[]{" + typesBuilder + "}");
+                    } else {
+                        paramsBody = StringUtils.isEmpty(mapBody) ? "null" : ("new java.util.HashMap<String, Integer>(){{" + mapBody + "}}");
+                    }
+
+                    String groupInstantiator = "";
+                    if (instantiable) {
+                        int id = groupDestinations.size();
+                        groupDestinations.put(id, className);
+                        groupInstantiator = ".setInstantiator(this, " + id + ")";
+                    }
 
                     loadIntoMethodOfGroupBuilder.addStatement(
-                            "atlas.put($S, $T.build($T." + routeMeta.getType() + ", $T.class, $S, $S, " + (StringUtils.isEmpty(mapBody) ? null : ("new java.util.HashMap<String, Integer>(){{" + mapBodyBuilder.toString() + "}}")) + ", " + routeMeta.getPriority() + ", " + routeMeta.getExtra() + "))",
+                            "atlas.put($S, $T.build($T." + routeMeta.getType() + ", $T.class, $S, $S, " + paramsBody + ", " + routeMeta.getPriority() + ", " + routeMeta.getExtra() + ")" + groupInstantiator + ")",
                             routeMeta.getPath(),
                             routeMetaCn,
                             routeTypeCn,
@@ -307,20 +398,33 @@ public class RouteProcessor extends BaseProcessor {
                             routeMeta.getPath().toLowerCase(),
                             routeMeta.getGroup().toLowerCase());
 
+                    if (null != manifestWriter) {
+                        manifestWriter.addRoute(
+                                groupName,
+                                routeMeta.getPath(),
+                                routeMeta.getType(),
+                                elementUtils.getBinaryName((TypeElement) routeMeta.getRawType()).toString(),
+                                routeMeta.getPriority(),
+                                routeMeta.getExtra(),
+                                paramsType);
+                    }
+
                     routeDoc.setClassName(className.toString());
                     routeDocList.add(routeDoc);
                 }
 
                 // Generate groups
                 String groupFileName = NAME_OF_GROUP + groupName;
-                JavaFile.builder(PACKAGE_OF_GENERATE_FILE,
-                        TypeSpec.classBuilder(groupFileName)
-                                .addJavadoc(WARNING_TIPS)
-                                .addSuperinterface(ClassName.get(type_IRouteGroup))
-                                .addModifiers(PUBLIC)
-                                .addMethod(loadIntoMethodOfGroupBuilder.build())
-                                .build()
-                ).build().writeTo(mFiler);
+                TypeSpec.Builder groupBuilder = TypeSpec.classBuilder(groupFileName)
+                        .addJavadoc(WARNING_TIPS)
+                        .addSuperinterface(ClassName.get(type_IRouteGroup))
+                        .addModifiers(PUBLIC)
+                        .addMethod(loadIntoMethodOfGroupBuilder.build());
+                if (!groupDestinations.isEmpty()) {
+                    groupBuilder.addSuperinterface(ClassName.get(type_Instantiator))
+                            .addMethod(buildNewInstanceMethod(groupDestinations));
+                }
+                JavaFile.builder(PACKAGE_OF_GENERATE_FILE, groupBuilder.build()).build().writeTo(mFiler);
 
                 logger.info(">>> Generated group: " + groupName + "<<<");
                 rootMap.put(groupName, groupFileName);
@@ -334,6 +438,19 @@ public class RouteProcessor extends BaseProcessor {
                 }
             }
 
+            if (generateGroupFactory) {
+                if (MapUtils.isNotEmpty(rootMap)) {
+                    createGroupMethodOfRootBuilder.beginControlFlow("switch (groupName)");
+                    for (Map.Entry<String, String> entry : rootMap.entrySet()) {
+                        loadFactoryIntoMethodOfRootBuilder.addStatement("factories.put($S, this)", entry.getKey());
+                        createGroupMethodOfRootBuilder.addCode("case $S:\n", entry.getKey())
+                                .addStatement("$>return new $T()$<", ClassName.get(PACKAGE_OF_GENERATE_FILE, entry.getValue()));
+                    }
+                    createGroupMethodOfRootBuilder.endControlFlow();
+                }
+                createGroupMethodOfRootBuilder.addStatement("return null");
+            }
+
             // Output route doc
             if (generateDoc) {
                 docWriter.append(JSON.toJSONString(docSource, SerializerFeature.PrettyFormat));
@@ -341,34 +458,191 @@ public class RouteProcessor extends BaseProcessor {
                 docWriter.close();
             }
 
+            // Write route manifest into disk, the plugin will merge it into assets.
+            if (null != manifestWriter) {
+                String manifestFileName = NAME_OF_MANIFEST + SEPARATOR + moduleName + RouteManifestWriter.SUFFIX_OF_MANIFEST;
+                OutputStream manifestOutput = mFiler.createResource(StandardLocation.CLASS_OUTPUT, PACKAGE_OF_GENERATE_FILE, manifestFileName).openOutputStream();
+                try {
+                    manifestOutput.write(manifestWriter.toByteArray());
+                } finally {
+                    manifestOutput.close();
+                }
+
+                logger.info(">>> Generated route manifest, name is " + manifestFileName + " <<<");
+            }
+
             // Write provider into disk
             String providerMapFileName = NAME_OF_PROVIDER + SEPARATOR + moduleName;
-            JavaFile.builder(PACKAGE_OF_GENERATE_FILE,
-                    TypeSpec.classBuilder(providerMapFileName)
-                            .addJavadoc(WARNING_TIPS)
-                            .addSuperinterface(ClassName.get(type_IProviderGroup))
-                            .addModifiers(PUBLIC)
-                            .addMethod(loadIntoMethodOfProviderBuilder.build())
-                            .build()
-            ).build().writeTo(mFiler);
+            TypeSpec.Builder providerMapBuilder = TypeSpec.classBuilder(providerMapFileName)
+                    .addJavadoc(WARNING_TIPS)
+                    .addSuperinterface(ClassName.get(type_IProviderGroup))
+                    .addModifiers(PUBLIC)
+                    .addMethod(loadIntoMethodOfProviderBuilder.build());
+            if (!providerDestinations.isEmpty()) {
+                providerMapBuilder.addSuperinterface(ClassName.get(type_Instantiator))
+                        .addMethod(buildNewInstanceMethod(providerDestinations));
+            }
+            JavaFile.builder(PACKAGE_OF_GENERATE_FILE, providerMapBuilder.build()).build().writeTo(mFiler);
 
             logger.info(">>> Generated provider map, name is " + providerMapFileName + " <<<");
 
+            if (null != servicesClassName) {
+                generateServices(services);
+            }
+
             // Write root meta into disk.
             String rootFileName = NAME_OF_ROOT + SEPARATOR + moduleName;
-            JavaFile.builder(PACKAGE_OF_GENERATE_FILE,
-                    TypeSpec.classBuilder(rootFileName)
-                            .addJavadoc(WARNING_TIPS)
-                            .addSuperinterface(ClassName.get(elementUtils.getTypeElement(ITROUTE_ROOT)))
-                            .addModifiers(PUBLIC)
-                            .addMethod(loadIntoMethodOfRootBuilder.build())
-                            .build()
-            ).build().writeTo(mFiler);
+            TypeSpec.Builder rootBuilder = TypeSpec.classBuilder(rootFileName)
+                    .addJavadoc(WARNING_TIPS)
+                    .addModifiers(PUBLIC)
+                    .addMethod(loadIntoMethodOfRootBuilder.build());
+            if (generateGroupFactory) {
+                rootBuilder.addSuperinterface(ClassName.get(type_IRouteFactoryRoot))
+                        .addSuperinterface(ClassName.get(type_IRouteGroupFactory))
+                        .addMethod(loadFactoryIntoMethodOfRootBuilder.build())
+                        .addMethod(createGroupMethodOfRootBuilder.build());
+            }
+            // Implement IRouteRoot directly as well, arouter-register plugin only checks the direct interfaces.
+            rootBuilder.addSuperinterface(ClassName.get(elementUtils.getTypeElement(ITROUTE_ROOT)));
+            JavaFile.builder(PACKAGE_OF_GENERATE_FILE, rootBuilder.build()).build().writeTo(mFiler);
 
             logger.info(">>> Generated root, name is " + rootFileName + " <<<");
         }
     }
 
+    /**
+     * Service which is implemented by more than one provider can't be located, it's removed and will be ignored.
+     */
+    private void collectService(Map<TypeElement, TypeElement> services, TypeElement service, TypeElement provider) {
+        if (services.containsKey(service)) {
+            TypeElement existing = services.get(service);
+            if (null != existing && !existing.equals(provider)) {
+                logger.warning(">>> Service [" + service + "] has more than one providers, it's not in services locator. <<<");
+                services.put(service, null);
+            }
+        } else {
+            services.put(service, provider);
+        }
+    }
+
+    /**
+     * Generate services locator, every service has a method which gets the provider by direct construction,
+     * and keeps it in a static field, the provider is same instance as navigation.
+     * The field is got again after ARouter is destroyed, by the generation of providers,
+     * the provider and its generation are published together by one holder:
+     * <pre>
+     * public static HelloService helloService() {
+     *     int generation = LogisticsCenter.getGeneration();
+     *     ProviderHolder&lt;HelloService&gt; holder = helloService;
+     *     if (null == holder || generation != holder.generation) {
+     *         holder = new ProviderHolder&lt;HelloService&gt;((HelloService) LogisticsCenter.getProvider(HelloServiceImpl.class, new IProviderFactory() {...}), generation);
+     *         helloService = holder;
+     *     }
+     *     return holder.provider;
+     * }
+     * </pre>
+     */
+    private void generateServices(Map<TypeElement, TypeElement> services) throws IOException {
+        TypeElement type_IProviderFactory = elementUtils.getTypeElement(IPROVIDER_FACTORY);
+        if (null == type_IProviderFactory) {
+            logger.warning(">>> IProviderFactory is missing, update arouter-api to generate services locator. <<<");
+            return;
+        }
+        TypeElement type_ProviderHolder = elementUtils.getTypeElement(PROVIDER_HOLDER);
+        if (null == type_ProviderHolder) {
+            logger.warning(">>> ProviderHolder is missing, update arouter-api to generate services locator. <<<");
+            return;
+        }
+
+        ClassName providerFactoryCn = ClassName.get(type_IProviderFactory);
+        ClassName providerHolderCn = ClassName.get(type_ProviderHolder);
+        ClassName logisticsCenterCn = ClassName.bestGuess(LOGISTICS_CENTER);
+        TypeName providerTn = TypeName.get(iProvider);
+
+        // Method name and service, in order.
+        Map<String, TypeElement> methods = new TreeMap<>();
+        for (Map.Entry<TypeElement, TypeElement> entry : services.entrySet()) {
+            if (null == entry.getValue()) {
+                continue;
+            }
+
+            String methodName = StringUtils.uncapitalize(entry.getKey().getSimpleName().toString());
+            if (methods.containsKey(methodName)) {
+                logger.warning(">>> Service [" + entry.getKey() + "] has same simple name with others, they are not in services locator. <<<");
+                methods.put(methodName, null);
+            } else {
+                methods.put(methodName, entry.getKey());
+            }
+        }
+
+        int lastDot = servicesClassName.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : servicesClassName.substring(0, lastDot);
+        String simpleName = servicesClassName.substring(lastDot + 1);
+        TypeSpec.Builder servicesBuilder = TypeSpec.classBuilder(simpleName)
+                .addJavadoc(WARNING_TIPS)
+                .addModifiers(PUBLIC, FINAL)
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(PRIVATE).build());
+
+        for (Map.Entry<String, TypeElement> entry : methods.entrySet()) {
+            if (null == entry.getValue()) {
+                continue;
+            }
+
+            String methodName = entry.getKey();
+            TypeName serviceTn = TypeName.get(types.erasure(entry.getValue().asType()));
+            ClassName providerCn = ClassName.get(services.get(entry.getValue()));
+
+            TypeSpec factory = TypeSpec.anonymousClassBuilder("")
+                    .addSuperinterface(providerFactoryCn)
+                    .addMethod(MethodSpec.methodBuilder("create")
+                            .addAnnotation(Override.class)
+                            .addModifiers(PUBLIC)
+                            .returns(providerTn)
+                            .addStatement("return new $T()", providerCn)
+                            .build())
+                    .build();
+
+            TypeName holderTn = ParameterizedTypeName.get(providerHolderCn, serviceTn);
+            servicesBuilder.addField(FieldSpec.builder(holderTn, methodName, PRIVATE, STATIC, VOLATILE).build());
+            servicesBuilder.addMethod(MethodSpec.methodBuilder(methodName)
+                    .addModifiers(PUBLIC, STATIC)
+                    .returns(serviceTn)
+                    .addStatement("int generation = $T.getGeneration()", logisticsCenterCn)
+                    .addStatement("$T holder = $N", holderTn, methodName)
+                    .beginControlFlow("if (null == holder || generation != holder.generation)")
+                    .addStatement("holder = new $T(($T) $T.getProvider($T.class, $L), generation)", holderTn, serviceTn, logisticsCenterCn, providerCn, factory)
+                    .addStatement("$N = holder", methodName)
+                    .endControlFlow()
+                    .addStatement("return holder.provider")
+                    .build());
+        }
+
+        JavaFile.builder(packageName, servicesBuilder.build()).build().writeTo(mFiler);
+        logger.info(">>> Generated services locator, name is " + servicesClassName + " <<<");
+    }
+
+    /**
+     * Whether RouteMeta has the builder which accepts params as arrays,
+     * old version of arouter-annotation only accepts map.
+     */
+    private boolean hasParamsArrayBuilder() {
+        TypeElement routeMetaElement = elementUtils.getTypeElement(RouteMeta.class.getCanonicalName());
+        if (null == routeMetaElement) {
+            return false;
+        }
+
+        for (Element element : routeMetaElement.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.METHOD && element.getSimpleName().contentEquals("build")) {
+                for (VariableElement parameter : ((ExecutableElement) element).getParameters()) {
+                    if (parameter.asType().getKind() == javax.lang.model.type.TypeKind.ARRAY) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Recursive inject config collector.
      *
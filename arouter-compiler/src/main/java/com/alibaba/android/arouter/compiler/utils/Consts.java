@@ -15,9 +15,14 @@ public class Consts {
     public static final String WARNING_TIPS = "DO NOT EDIT THIS FILE!!! IT WAS GENERATED BY AROUTER.";
     public static final String METHOD_LOAD_INTO = "loadInto";
     public static final String METHOD_INJECT = "inject";
+    public static final String METHOD_LOAD_FACTORY_INTO = "loadFactoryInto";
+    public static final String METHOD_CREATE_GROUP = "createGroup";
+    public static final String METHOD_LOAD_SCOPE_INTO = "loadScopeInto";
+    public static final String METHOD_NEW_INSTANCE = "newInstance";
     public static final String NAME_OF_ROOT = PROJECT + SEPARATOR + "Root";
     public static final String NAME_OF_PROVIDER = PROJECT + SEPARATOR + "Providers";
     public static final String NAME_OF_GROUP = PROJECT + SEPARATOR + "Group" + SEPARATOR;
+    public static final String NAME_OF_MANIFEST = PROJECT + SEPARATOR + "Manifest";
     public static final String NAME_OF_INTERCEPTOR = PROJECT + SEPARATOR + "Interceptors";
     public static final String NAME_OF_AUTOWIRED = SEPARATOR + PROJECT + SEPARATOR + "Autowired";
     public static final String PACKAGE_OF_GENERATE_FILE = "com.alibaba.android.arouter.routes";
@@ -52,11 +57,19 @@ public class Consts {
     public static final String IPROVIDER_GROUP = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".IProviderGroup";
     public static final String IINTERCEPTOR = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".IInterceptor";
     public static final String IINTERCEPTOR_GROUP = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".IInterceptorGroup";
+    public static final String IINTERCEPTOR_SCOPE_GROUP = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".IInterceptorScopeGroup";
     public static final String ITROUTE_ROOT = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".IRouteRoot";
     public static final String IROUTE_GROUP = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".IRouteGroup";
+    public static final String IROUTE_FACTORY_ROOT = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".IRouteFactoryRoot";
+    public static final String IROUTE_GROUP_FACTORY = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".IRouteGroupFactory";
+    public static final String IPROVIDER_FACTORY = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".IProviderFactory";
+    public static final String LOGISTICS_CENTER = "com.alibaba.android.arouter.core.LogisticsCenter";
+    public static final String PROVIDER_HOLDER = "com.alibaba.android.arouter.core.ProviderHolder";
     public static final String ISYRINGE = FACADE_PACKAGE + TEMPLATE_PACKAGE + ".ISyringe";
     public static final String JSON_SERVICE = FACADE_PACKAGE + SERVICE_PACKAGE + ".SerializationService";
     public static final String TYPE_WRAPPER = FACADE_PACKAGE + MODEL_PACKAGE + ".TypeWrapper";
+    public static final String INTERCEPTOR_SCOPE = FACADE_PACKAGE + MODEL_PACKAGE + ".InterceptorScope";
+    public static final String INSTANTIATOR = FACADE_PACKAGE + MODEL_PACKAGE + ".Instantiator";
 
     // Log
     static final String PREFIX_OF_LOGGER = PROJECT + "::Compiler ";
@@ -75,6 +88,8 @@ public class Consts {
     // Options of processor
     public static final String KEY_MODULE_NAME = "AROUTER_MODULE_NAME";
     public static final String KEY_GENERATE_DOC_NAME = "AROUTER_GENERATE_DOC";
+    public static final String KEY_GENERATE_MANIFEST_NAME = "AROUTER_GENERATE_MANIFEST";
+    public static final String KEY_SERVICES_CLASS_NAME = "AROUTER_SERVICES_CLASS";
 
     public static final String VALUE_ENABLE = "enable";
 
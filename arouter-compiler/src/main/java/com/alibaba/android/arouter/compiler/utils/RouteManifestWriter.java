@@ -0,0 +1,171 @@
+package com.alibaba.android.arouter.compiler.utils;
+
+import com.alibaba.android.arouter.facade.enums.RouteType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Write the route manifest fragment of module, it will be merged by arouter-register plugin,
+ * and decoded by 'com.alibaba.android.arouter.core.RouteManifest' at runtime.
+ * <p>
+ * Layout, big endian:
+ * <pre>
+ * magic(4) | version(4)
+ * string count(4) | string offsets(4 * count) | string data length(4) | string data, [length(2) | utf-8 bytes]
+ * module count(4) | module name index(4 * count)
+ * group count(4) | group name index(4) | routes offset(4) | route count(4) ...
+ * routes length(4) | routes, [path index(4) | type(1) | destination index(4) | priority(4) | extra(4) | param count(2) | [name index(4) | type(1)] ...]
+ * </pre>
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+public class RouteManifestWriter {
+    public static final String SUFFIX_OF_MANIFEST = ".arm";
+    private static final int MAGIC = 0x4152524D;    // ARRM
+    private static final int VERSION = 1;
+
+    private final List<String> modules = new ArrayList<>();
+    private final Map<String, List<Route>> groups = new TreeMap<>();
+
+    public RouteManifestWriter(String moduleName) {
+        modules.add(moduleName);
+    }
+
+    /**
+     * Add route into group.
+     *
+     * @param group       group name, same as the key in root
+     * @param path        path, same as the key in group
+     * @param type        type of route
+     * @param destination binary name of destination, can be loaded by Class.forName
+     * @param paramsType  params of route, maybe null
+     */
+    public void addRoute(String group, String path, RouteType type, String destination, int priority, int extra, Map<String, Integer> paramsType) {
+        List<Route> routes = groups.get(group);
+        if (null == routes) {
+            routes = new ArrayList<>();
+            groups.put(group, routes);
+        }
+
+        routes.add(new Route(path, type, destination, priority, extra, null == paramsType ? new TreeMap<String, Integer>() : new TreeMap<>(paramsType)));
+    }
+
+    public byte[] toByteArray() throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+
+        // Routes first, offset of group is the start of its routes.
+        ByteArrayOutputStream routesBytes = new ByteArrayOutputStream();
+        DataOutputStream routesOutput = new DataOutputStream(routesBytes);
+        Map<String, int[]> groupTable = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Route>> entry : groups.entrySet()) {
+            groupTable.put(entry.getKey(), new int[]{routesOutput.size(), entry.getValue().size()});
+
+            for (Route route : entry.getValue()) {
+                routesOutput.writeInt(intern(strings, route.path));
+                routesOutput.writeByte(route.type.ordinal());
+                routesOutput.writeInt(intern(strings, route.destination));
+                routesOutput.writeInt(route.priority);
+                routesOutput.writeInt(route.extra);
+                if (route.paramsType.size() > 0xFFFF) {
+                    throw new IOException("Too many params of route [" + route.path + "]");
+                }
+                routesOutput.writeShort(route.paramsType.size());
+                for (Map.Entry<String, Integer> param : route.paramsType.entrySet()) {
+                    routesOutput.writeInt(intern(strings, param.getKey()));
+                    routesOutput.writeByte(param.getValue());
+                }
+            }
+        }
+        routesOutput.flush();
+
+        int[] moduleIndexes = new int[modules.size()];
+        for (int i = 0; i < moduleIndexes.length; i++) {
+            moduleIndexes[i] = intern(strings, modules.get(i));
+        }
+        int[] groupIndexes = new int[groupTable.size()];
+        int i = 0;
+        for (String group : groupTable.keySet()) {
+            groupIndexes[i++] = intern(strings, group);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+
+        // String table
+        ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+        DataOutputStream stringOutput = new DataOutputStream(stringBytes);
+        output.writeInt(strings.size());
+        for (String string : strings.keySet()) {
+            output.writeInt(stringOutput.size());
+            byte[] data = string.getBytes(StandardCharsets.UTF_8);
+            if (data.length > 0xFFFF) {
+                throw new IOException("String is too long, [" + string + "]");
+            }
+            stringOutput.writeShort(data.length);
+            stringOutput.write(data);
+        }
+        stringOutput.flush();
+        output.writeInt(stringBytes.size());
+        stringBytes.writeTo(output);
+
+        // Modules
+        output.writeInt(moduleIndexes.length);
+        for (int index : moduleIndexes) {
+            output.writeInt(index);
+        }
+
+        // Groups
+        output.writeInt(groupIndexes.length);
+        i = 0;
+        for (int[] group : groupTable.values()) {
+            output.writeInt(groupIndexes[i++]);
+            output.writeInt(group[0]);
+            output.writeInt(group[1]);
+        }
+
+        // Routes
+        output.writeInt(routesBytes.size());
+        routesBytes.writeTo(output);
+        output.flush();
+
+        return bytes.toByteArray();
+    }
+
+    private static int intern(Map<String, Integer> strings, String string) {
+        Integer index = strings.get(string);
+        if (null == index) {
+            index = strings.size();
+            strings.put(string, index);
+        }
+        return index;
+    }
+
+    private static class Route {
+        final String path;
+        final RouteType type;
+        final String destination;
+        final int priority;
+        final int extra;
+        final Map<String, Integer> paramsType;
+
+        Route(String path, RouteType type, String destination, int priority, int extra, Map<String, Integer> paramsType) {
+            this.path = path;
+            this.type = type;
+            this.destination = destination;
+            this.priority = priority;
+            this.extra = extra;
+            this.paramsType = paramsType;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.alibaba.android.arouter.register.core
+
+import com.alibaba.android.arouter.register.utils.Logger
+import com.alibaba.android.arouter.register.utils.ScanSetting
+import org.apache.commons.io.IOUtils
+import org.objectweb.asm.*
+
+import java.util.jar.JarEntry
+import java.util.jar.JarFile
+import java.util.jar.JarOutputStream
+import java.util.zip.ZipEntry
+
+/**
+ * Generate the interceptor chain of the whole app: {@link ScanSetting#INTERCEPTOR_CHAIN_CLASS_NAME}
+ * <p>
+ * The interceptors and their priorities are collected from the loadInto method of interceptor groups,
+ * which is generated by arouter-compiler as {@code interceptors.put(7, Test1Interceptor.class)}.
+ * The chain creates interceptors by direct constructor calls, and processes each of them by its own call site:
+ * <pre>
+ * public final class ARouter$$InterceptorChain implements IInterceptorChain {
+ *     private Test1Interceptor interceptor0;
+ *
+ *     public int[] priorities() {
+ *         return new int[]{7};
+ *     }
+ *
+ *     public IInterceptor[] create() {
+ *         interceptor0 = new Test1Interceptor();
+ *         return new IInterceptor[]{interceptor0};
+ *     }
+ *
+ *     public void process(int index, Postcard postcard, InterceptorCallback callback) {
+ *         switch (index) {
+ *             case 0: interceptor0.process(postcard, callback); return;
+ *             default: throw new IndexOutOfBoundsException();
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class InterceptorChainGenerator {
+    private static final String CHAIN_INTERFACE = 'com/alibaba/android/arouter/facade/template/IInterceptorChain'
+    private static final String INTERCEPTOR_INTERFACE = 'com/alibaba/android/arouter/facade/template/IInterceptor'
+    private static final String PROCESS_DESC = '(Lcom/alibaba/android/arouter/facade/Postcard;Lcom/alibaba/android/arouter/facade/callback/InterceptorCallback;)V'
+    private static final String FIELD_PREFIX = 'interceptor'
+
+    // Priority and class of interceptor, in order
+    private final Map<Integer, String> interceptors = new TreeMap<>()
+    // Some of interceptor groups can't be read, or the priorities conflict, the chain won't be generated
+    private boolean broken
+
+    /**
+     * Visitor of loadInto method in interceptor group, it collects the interceptors
+     * @param groupName class of interceptor group
+     */
+    MethodVisitor collectFrom(String groupName, MethodVisitor mv) {
+        return new LoadIntoVisitor(groupName, mv)
+    }
+
+    boolean isEmpty() {
+        return interceptors.isEmpty()
+    }
+
+    private void add(String groupName, Integer priority, Type interceptor) {
+        if (null == priority || null == interceptor) {
+            Logger.w('Unknown code in ' + groupName + ', interceptor chain will not be generated.')
+            broken = true
+            return
+        }
+
+        String existing = interceptors.put(priority, interceptor.internalName)
+        if (null != existing && existing != interceptor.internalName) {
+            Logger.w('More than one interceptors use same priority [' + priority + '], interceptor chain will not be generated.')
+            broken = true
+        }
+    }
+
+    /**
+     * Write the chain into the jar file which contains LogisticsCenter.class
+     */
+    void writeTo(File jarFile) {
+        if (broken || interceptors.isEmpty() || !jarFile.getName().endsWith('.jar')) {
+            return
+        }
+
+        def optJar = new File(jarFile.getParent(), jarFile.name + ".opt")
+        if (optJar.exists())
+            optJar.delete()
+        def file = new JarFile(jarFile)
+        Enumeration enumeration = file.entries()
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(optJar))
+
+        String chainEntryName = ScanSetting.INTERCEPTOR_CHAIN_CLASS_NAME + '.class'
+        while (enumeration.hasMoreElements()) {
+            JarEntry jarEntry = (JarEntry) enumeration.nextElement()
+            String entryName = jarEntry.getName()
+            if (chainEntryName == entryName) {
+                // Generated by last build
+                continue
+            }
+            InputStream inputStream = file.getInputStream(jarEntry)
+            jarOutputStream.putNextEntry(new ZipEntry(entryName))
+            jarOutputStream.write(IOUtils.toByteArray(inputStream))
+            inputStream.close()
+            jarOutputStream.closeEntry()
+        }
+
+        Logger.i('Generate interceptor chain >> ' + chainEntryName)
+        jarOutputStream.putNextEntry(new ZipEntry(chainEntryName))
+        jarOutputStream.write(generate())
+        jarOutputStream.closeEntry()
+        jarOutputStream.close()
+        file.close()
+
+        if (jarFile.exists()) {
+            jarFile.delete()
+        }
+        optJar.renameTo(jarFile)
+    }
+
+    byte[] generate() {
+        List<Integer> priorities = new ArrayList<>(interceptors.keySet())
+        List<String> classes = new ArrayList<>(interceptors.values())
+        String chainName = ScanSetting.INTERCEPTOR_CHAIN_CLASS_NAME
+
+        // Without stack map frames, the classes are dexed at last.
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS)
+        cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, chainName, null, 'java/lang/Object', [CHAIN_INTERFACE] as String[])
+        classes.eachWithIndex { String name, int i ->
+            cw.visitField(Opcodes.ACC_PRIVATE, FIELD_PREFIX + i, 'L' + name + ';', null, null).visitEnd()
+        }
+
+        // Constructor
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, '<init>', '()V', null, null)
+        mv.visitCode()
+        mv.visitVarInsn(Opcodes.ALOAD, 0)
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, 'java/lang/Object', '<init>', '()V', false)
+        mv.visitInsn(Opcodes.RETURN)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+
+        // int[] priorities()
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, 'priorities', '()[I', null, null)
+        mv.visitCode()
+        pushInt(mv, priorities.size())
+        mv.visitIntInsn(Opcodes.NEWARRAY, Opcodes.T_INT)
+        priorities.eachWithIndex { Integer priority, int i ->
+            mv.visitInsn(Opcodes.DUP)
+            pushInt(mv, i)
+            pushInt(mv, priority)
+            mv.visitInsn(Opcodes.IASTORE)
+        }
+        mv.visitInsn(Opcodes.ARETURN)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+
+        // IInterceptor[] create()
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, 'create', '()[L' + INTERCEPTOR_INTERFACE + ';', null, null)
+        mv.visitCode()
+        classes.eachWithIndex { String name, int i ->
+            mv.visitVarInsn(Opcodes.ALOAD, 0)
+            mv.visitTypeInsn(Opcodes.NEW, name)
+            mv.visitInsn(Opcodes.DUP)
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, name, '<init>', '()V', false)
+            mv.visitFieldInsn(Opcodes.PUTFIELD, chainName, FIELD_PREFIX + i, 'L' + name + ';')
+        }
+        pushInt(mv, classes.size())
+        mv.visitTypeInsn(Opcodes.ANEWARRAY, INTERCEPTOR_INTERFACE)
+        classes.eachWithIndex { String name, int i ->
+            mv.visitInsn(Opcodes.DUP)
+            pushInt(mv, i)
+            mv.visitVarInsn(Opcodes.ALOAD, 0)
+            mv.visitFieldInsn(Opcodes.GETFIELD, chainName, FIELD_PREFIX + i, 'L' + name + ';')
+            mv.visitInsn(Opcodes.AASTORE)
+        }
+        mv.visitInsn(Opcodes.ARETURN)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+
+        // void process(int index, Postcard postcard, InterceptorCallback callback)
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, 'process', '(I' + PROCESS_DESC.substring(1), null, null)
+        mv.visitCode()
+        Label defaultLabel = new Label()
+        Label[] caseLabels = new Label[classes.size()]
+        for (int i = 0; i < caseLabels.length; i++) {
+            caseLabels[i] = new Label()
+        }
+        mv.visitVarInsn(Opcodes.ILOAD, 1)
+        mv.visitTableSwitchInsn(0, classes.size() - 1, defaultLabel, caseLabels)
+        classes.eachWithIndex { String name, int i ->
+            mv.visitLabel(caseLabels[i])
+            mv.visitVarInsn(Opcodes.ALOAD, 0)
+            mv.visitFieldInsn(Opcodes.GETFIELD, chainName, FIELD_PREFIX + i, 'L' + name + ';')
+            mv.visitVarInsn(Opcodes.ALOAD, 2)
+            mv.visitVarInsn(Opcodes.ALOAD, 3)
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, name, 'process', PROCESS_DESC, false)
+            mv.visitInsn(Opcodes.RETURN)
+        }
+        mv.visitLabel(defaultLabel)
+        mv.visitTypeInsn(Opcodes.NEW, 'java/lang/IndexOutOfBoundsException')
+        mv.visitInsn(Opcodes.DUP)
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, 'java/lang/IndexOutOfBoundsException', '<init>', '()V', false)
+        mv.visitInsn(Opcodes.ATHROW)
+        mv.visitMaxs(0, 0)
+        mv.visitEnd()
+
+        cw.visitEnd()
+        return cw.toByteArray()
+    }
+
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(Opcodes.ICONST_0 + value)
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.BIPUSH, value)
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.SIPUSH, value)
+        } else {
+            mv.visitLdcInsn(value)
+        }
+    }
+
+    /**
+     * Read {@code interceptors.put(priority, Interceptor.class)} in loadInto method
+     */
+    class LoadIntoVisitor extends MethodVisitor {
+        private final String groupName
+        private Integer priority
+        private Type interceptor
+
+        LoadIntoVisitor(String groupName, MethodVisitor mv) {
+            super(Opcodes.ASM5, mv)
+            this.groupName = groupName
+        }
+
+        @Override
+        void visitInsn(int opcode) {
+            if (opcode >= Opcodes.ICONST_M1 && opcode <= Opcodes.ICONST_5) {
+                priority = opcode - Opcodes.ICONST_0
+            }
+            super.visitInsn(opcode)
+        }
+
+        @Override
+        void visitIntInsn(int opcode, int operand) {
+            if (opcode == Opcodes.BIPUSH || opcode == Opcodes.SIPUSH) {
+                priority = operand
+            }
+            super.visitIntInsn(opcode, operand)
+        }
+
+        @Override
+        void visitLdcInsn(Object cst) {
+            if (cst instanceof Integer) {
+                priority = (Integer) cst
+            } else if (cst instanceof Type) {
+                interceptor = (Type) cst
+            }
+            super.visitLdcInsn(cst)
+        }
+
+        @Override
+        void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+            if (owner == 'java/util/Map' && name == 'put') {
+                add(groupName, priority, interceptor)
+                priority = null
+                interceptor = null
+            }
+            super.visitMethodInsn(opcode, owner, name, desc, itf)
+        }
+    }
+}
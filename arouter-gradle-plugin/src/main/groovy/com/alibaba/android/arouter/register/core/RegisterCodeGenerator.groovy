@@ -15,14 +15,16 @@ import java.util.zip.ZipEntry
  */
 class RegisterCodeGenerator {
     ScanSetting extension
+    boolean registerByName
 
-    private RegisterCodeGenerator(ScanSetting extension) {
+    private RegisterCodeGenerator(ScanSetting extension, boolean registerByName) {
         this.extension = extension
+        this.registerByName = registerByName
     }
 
-    static void insertInitCodeTo(ScanSetting registerSetting) {
+    static void insertInitCodeTo(ScanSetting registerSetting, boolean registerByName) {
         if (registerSetting != null && !registerSetting.classList.isEmpty()) {
-            RegisterCodeGenerator processor = new RegisterCodeGenerator(registerSetting)
+            RegisterCodeGenerator processor = new RegisterCodeGenerator(registerSetting, registerByName)
             File file = RegisterTransform.fileContainsInitClass
             if (file.getName().endsWith('.jar'))
                 processor.insertInitCodeIntoJarFile(file)
@@ -114,14 +116,27 @@ class RegisterCodeGenerator {
             //generate code before return
             if ((opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN)) {
                 extension.classList.each { name ->
-                    name = name.replaceAll("/", ".")
-                    mv.visitLdcInsn(name)//类名
-                    // generate invoke register method into LogisticsCenter.loadRouterMap()
-                    mv.visitMethodInsn(Opcodes.INVOKESTATIC
-                            , ScanSetting.GENERATE_TO_CLASS_NAME
-                            , ScanSetting.REGISTER_METHOD_NAME
-                            , "(Ljava/lang/String;)V"
-                            , false)
+                    if (registerByName) {
+                        name = name.replaceAll("/", ".")
+                        mv.visitLdcInsn(name)//类名
+                        // generate invoke register method into LogisticsCenter.loadRouterMap()
+                        mv.visitMethodInsn(Opcodes.INVOKESTATIC
+                                , ScanSetting.GENERATE_TO_CLASS_NAME
+                                , ScanSetting.REGISTER_METHOD_NAME
+                                , "(Ljava/lang/String;)V"
+                                , false)
+                    } else {
+                        // new ARouter$$Root$$xxx()
+                        mv.visitTypeInsn(Opcodes.NEW, name)
+                        mv.visitInsn(Opcodes.DUP)
+                        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, name, "<init>", "()V", false)
+                        // generate invoke registerRouteRoot/registerInterceptor/registerProvider into LogisticsCenter.loadRouterMap()
+                        mv.visitMethodInsn(Opcodes.INVOKESTATIC
+                                , ScanSetting.GENERATE_TO_CLASS_NAME
+                                , extension.registerMethodName
+                                , extension.registerMethodDesc
+                                , false)
+                    }
                 }
             }
             super.visitInsn(opcode)
@@ -1,6 +1,7 @@
 package com.alibaba.android.arouter.register.core
 
 import com.alibaba.android.arouter.register.utils.Logger
+import com.alibaba.android.arouter.register.utils.RegisterExtension
 import com.alibaba.android.arouter.register.utils.ScanSetting
 import com.alibaba.android.arouter.register.utils.ScanUtil
 import com.android.build.api.transform.*
@@ -14,6 +15,7 @@ import org.gradle.api.Project
  * <p>
  *     1. Scan all classes to find which classes implement the specified interface
  *     2. Generate register code into class file: {@link ScanSetting#GENERATE_TO_CLASS_FILE_NAME}
+ *     3. Generate interceptor chain: {@link ScanSetting#INTERCEPTOR_CHAIN_CLASS_NAME}
  * @author billy.qi email: qiyilike@163.com
  * @since 17/3/21 11:48
  */
@@ -22,11 +24,20 @@ class RegisterTransform extends Transform {
     Project project
     static ArrayList<ScanSetting> registerList
     static File fileContainsInitClass;
+    static RouteManifestMerger manifestMerger
+    static InterceptorChainGenerator interceptorChainGenerator
 
     RegisterTransform(Project project) {
         this.project = project
     }
 
+    /**
+     * The merged route manifest of variant
+     */
+    static File getManifestFile(Project project, String variantName) {
+        return new File(project.buildDir, "intermediates/arouter/" + variantName + "/" + ScanSetting.ROUTE_MANIFEST_ASSET)
+    }
+
     /**
      * name of this transform
      * @return
@@ -71,6 +82,11 @@ class RegisterTransform extends Transform {
             outputProvider.deleteAll()
         }
 
+        manifestMerger = new RouteManifestMerger()
+        interceptorChainGenerator = new InterceptorChainGenerator()
+        File manifestFile = getManifestFile(project, context.variantName)
+        manifestFile.delete()
+
         inputs.each { TransformInput input ->
 
             // scan all jars
@@ -105,7 +121,11 @@ class RegisterTransform extends Transform {
                         path = path.replaceAll("\\\\", "/")
                     }
                     if(file.isFile() && ScanUtil.shouldProcessClass(path)){
-                        ScanUtil.scanClass(file)
+                        if (ScanUtil.isRouteManifest(path)) {
+                            ScanUtil.scanManifest(file)
+                        } else {
+                            ScanUtil.scanClass(file)
+                        }
                     }
                 }
 
@@ -117,6 +137,7 @@ class RegisterTransform extends Transform {
         Logger.i('Scan finish, current cost time ' + (System.currentTimeMillis() - startTime) + "ms")
 
         if (fileContainsInitClass) {
+            boolean registerByName = project.extensions.getByType(RegisterExtension).registerByName
             registerList.each { ext ->
                 Logger.i('Insert register code to file ' + fileContainsInitClass.absolutePath)
 
@@ -126,9 +147,19 @@ class RegisterTransform extends Transform {
                     ext.classList.each {
                         Logger.i(it)
                     }
-                    RegisterCodeGenerator.insertInitCodeTo(ext)
+                    RegisterCodeGenerator.insertInitCodeTo(ext, registerByName)
                 }
             }
+
+            // Interceptors are created and processed by the chain without reflection.
+            if (!interceptorChainGenerator.isEmpty()) {
+                interceptorChainGenerator.writeTo(fileContainsInitClass)
+            }
+        }
+
+        // Merge route manifest, it will be copied into assets after merged.
+        if (!manifestMerger.isEmpty()) {
+            manifestMerger.writeTo(manifestFile)
         }
 
         Logger.i("Generate code finish, current cost time: " + (System.currentTimeMillis() - startTime) + "ms")
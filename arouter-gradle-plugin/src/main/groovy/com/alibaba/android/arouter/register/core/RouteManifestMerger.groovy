@@ -0,0 +1,178 @@
+package com.alibaba.android.arouter.register.core
+
+import com.alibaba.android.arouter.register.utils.Logger
+
+import java.nio.ByteBuffer
+
+/**
+ * Merge route manifest fragments generated by arouter-compiler into one manifest,
+ * which is packaged into assets and decoded by RouteManifest at runtime.
+ * <p>
+ * Every fragment has the same layout as the merged manifest, see RouteManifestWriter in arouter-compiler.
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class RouteManifestMerger {
+    static final int MAGIC = 0x4152524D
+    static final int VERSION = 1
+
+    private final List<String> modules = new ArrayList<>()
+    // Group name and routes, in order
+    private final Map<String, List<Route>> groups = new TreeMap<>()
+
+    /**
+     * Read a fragment, the routes of same module will be ignored.
+     */
+    void add(String name, byte[] fragment) {
+        ByteBuffer buffer = ByteBuffer.wrap(fragment)
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            Logger.w("Ignore route manifest " + name + ", unknown format.")
+            return
+        }
+
+        int offset = 8
+        int stringCount = buffer.getInt(offset)
+        int stringOffsetsStart = offset + 4
+        offset = stringOffsetsStart + stringCount * 4
+        int stringDataStart = offset + 4
+        offset = stringDataStart + buffer.getInt(offset)
+
+        def string = { int index ->
+            int start = stringDataStart + buffer.getInt(stringOffsetsStart + index * 4)
+            int length = buffer.getShort(start) & 0xFFFF
+            return new String(fragment, start + 2, length, "UTF-8")
+        }
+
+        List<String> fragmentModules = new ArrayList<>()
+        int moduleCount = buffer.getInt(offset)
+        offset += 4
+        for (int i = 0; i < moduleCount; i++) {
+            fragmentModules.add(string(buffer.getInt(offset)))
+            offset += 4
+        }
+        if (modules.any { fragmentModules.contains(it) }) {
+            Logger.w("Ignore route manifest " + name + ", module " + fragmentModules + " has been merged.")
+            return
+        }
+        modules.addAll(fragmentModules)
+
+        int groupCount = buffer.getInt(offset)
+        int groupStart = offset + 4
+        int routesStart = groupStart + groupCount * 12 + 4
+        for (int i = 0; i < groupCount; i++) {
+            int groupOffset = groupStart + i * 12
+            String groupName = string(buffer.getInt(groupOffset))
+            int routeOffset = routesStart + buffer.getInt(groupOffset + 4)
+            int routeCount = buffer.getInt(groupOffset + 8)
+
+            List<Route> routes = groups.get(groupName)
+            if (null == routes) {
+                routes = new ArrayList<>()
+                groups.put(groupName, routes)
+            }
+
+            for (int j = 0; j < routeCount; j++) {
+                Route route = new Route()
+                route.path = string(buffer.getInt(routeOffset))
+                route.type = buffer.get(routeOffset + 4)
+                route.destination = string(buffer.getInt(routeOffset + 5))
+                route.priority = buffer.getInt(routeOffset + 9)
+                route.extra = buffer.getInt(routeOffset + 13)
+                int paramCount = buffer.getShort(routeOffset + 17) & 0xFFFF
+                routeOffset += 19
+                for (int k = 0; k < paramCount; k++) {
+                    route.params.add([string(buffer.getInt(routeOffset)), buffer.get(routeOffset + 4)])
+                    routeOffset += 5
+                }
+                routes.add(route)
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return modules.isEmpty()
+    }
+
+    /**
+     * Write the merged manifest into file.
+     */
+    void writeTo(File file) {
+        Map<String, Integer> strings = new LinkedHashMap<>()
+        def intern = { String string ->
+            Integer index = strings.get(string)
+            if (null == index) {
+                index = strings.size()
+                strings.put(string, index)
+            }
+            return index
+        }
+
+        ByteArrayOutputStream routesBytes = new ByteArrayOutputStream()
+        DataOutputStream routesOutput = new DataOutputStream(routesBytes)
+        List<int[]> groupTable = new ArrayList<>()
+        groups.each { String groupName, List<Route> routes ->
+            groupTable.add([intern(groupName), routesOutput.size(), routes.size()] as int[])
+            routes.each { Route route ->
+                routesOutput.writeInt(intern(route.path))
+                routesOutput.writeByte(route.type)
+                routesOutput.writeInt(intern(route.destination))
+                routesOutput.writeInt(route.priority)
+                routesOutput.writeInt(route.extra)
+                routesOutput.writeShort(route.params.size())
+                route.params.each { param ->
+                    routesOutput.writeInt(intern(param[0]))
+                    routesOutput.writeByte(param[1])
+                }
+            }
+        }
+        routesOutput.flush()
+        List<Integer> moduleIndexes = modules.collect { intern(it) }
+
+        file.parentFile.mkdirs()
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))
+        try {
+            output.writeInt(MAGIC)
+            output.writeInt(VERSION)
+
+            ByteArrayOutputStream stringBytes = new ByteArrayOutputStream()
+            DataOutputStream stringOutput = new DataOutputStream(stringBytes)
+            output.writeInt(strings.size())
+            strings.keySet().each { String string ->
+                output.writeInt(stringOutput.size())
+                byte[] data = string.getBytes("UTF-8")
+                stringOutput.writeShort(data.length)
+                stringOutput.write(data)
+            }
+            stringOutput.flush()
+            output.writeInt(stringBytes.size())
+            stringBytes.writeTo(output)
+
+            output.writeInt(moduleIndexes.size())
+            moduleIndexes.each { output.writeInt(it) }
+
+            output.writeInt(groupTable.size())
+            groupTable.each { int[] group ->
+                output.writeInt(group[0])
+                output.writeInt(group[1])
+                output.writeInt(group[2])
+            }
+
+            output.writeInt(routesBytes.size())
+            routesBytes.writeTo(output)
+        } finally {
+            output.close()
+        }
+
+        Logger.i('Merged route manifest of ' + modules + ', ' + groups.size() + ' groups, write to ' + file.absolutePath)
+    }
+
+    static class Route {
+        String path
+        int type
+        String destination
+        int priority
+        int extra
+        List<List> params = new ArrayList<>()
+    }
+}
@@ -1,10 +1,12 @@
 package com.alibaba.android.arouter.register.launch
 
 import com.alibaba.android.arouter.register.utils.Logger
+import com.alibaba.android.arouter.register.utils.RegisterExtension
 import com.android.build.gradle.AppExtension
 import com.android.build.gradle.AppPlugin
 import com.alibaba.android.arouter.register.utils.ScanSetting
 import com.alibaba.android.arouter.register.core.RegisterTransform
+import com.android.build.gradle.internal.pipeline.TransformTask
 import org.gradle.api.Plugin
 import org.gradle.api.Project
 /**
@@ -24,16 +26,66 @@ public class PluginLaunch implements Plugin<Project> {
             Logger.i('Project enable arouter-register plugin')
 
             def android = project.extensions.getByType(AppExtension)
+            project.extensions.create(RegisterExtension.NAME, RegisterExtension)
             def transformImpl = new RegisterTransform(project)
 
             //init arouter-auto-register settings
             ArrayList<ScanSetting> list = new ArrayList<>(3)
-            list.add(new ScanSetting('IRouteRoot'))
-            list.add(new ScanSetting('IInterceptorGroup'))
-            list.add(new ScanSetting('IProviderGroup'))
+            list.add(new ScanSetting('IRouteRoot', 'registerRouteRoot'))
+            list.add(new ScanSetting('IInterceptorGroup', 'registerInterceptor'))
+            list.add(new ScanSetting('IProviderGroup', 'registerProvider'))
             RegisterTransform.registerList = list
             //register this plugin
             android.registerTransform(transformImpl)
+
+            // Route manifest is stored uncompressed, so it can be memory mapped at runtime.
+            android.aaptOptions.noCompress ScanSetting.ROUTE_MANIFEST_SUFFIX.substring(1)
+            // Fragments have been merged, don't package them as java resources.
+            android.packagingOptions.exclude ScanSetting.ROUTER_CLASS_PACKAGE_NAME + '*' + ScanSetting.ROUTE_MANIFEST_SUFFIX
+
+            project.afterEvaluate {
+                android.applicationVariants.all { variant ->
+                    copyManifestIntoAssets(project, transformImpl, variant)
+                }
+            }
+        }
+    }
+
+    /**
+     * The manifest is merged by transform, copy it into merged assets before packaging.
+     */
+    private static void copyManifestIntoAssets(Project project, RegisterTransform transformImpl, variant) {
+        def mergeAssets = variant.mergeAssets
+        def transformTask = project.tasks.withType(TransformTask).find {
+            it.transform == transformImpl && it.variantName == variant.name
+        }
+        if (null == mergeAssets || null == transformTask) {
+            Logger.w('Route manifest is disabled for variant ' + variant.name + ', can\'t find the task.')
+            return
+        }
+
+        File manifestFile = RegisterTransform.getManifestFile(project, variant.name)
+        def manifestAsset = {
+            def outputDir = mergeAssets.outputDir
+            // It's DirectoryProperty in new version of android gradle plugin
+            if (outputDir.respondsTo('get')) {
+                outputDir = outputDir.get().asFile
+            }
+            new File(outputDir, ScanSetting.ROUTE_MANIFEST_ASSET)
+        }
+
+        mergeAssets.dependsOn(transformTask)
+        // Rerun mergeAssets when the manifest changes, or it's removed because the manifest is turned off.
+        mergeAssets.inputs.file(manifestFile).optional().withPropertyName('arouterRouteManifest')
+        mergeAssets.outputs.file(manifestAsset).withPropertyName('arouterRouteManifestAsset')
+        mergeAssets.doLast {
+            File target = manifestAsset()
+            target.delete()
+            if (manifestFile.isFile()) {
+                target.parentFile.mkdirs()
+                target.bytes = manifestFile.bytes
+                Logger.i('Copy route manifest into ' + target.absolutePath)
+            }
         }
     }
 
@@ -0,0 +1,24 @@
+package com.alibaba.android.arouter.register.utils
+
+/**
+ * Options of arouter-register plugin, configured in build.gradle of application:
+ * <pre>
+ * arouter {
+ *     registerByName = true
+ * }
+ * </pre>
+ *
+ * @version 1.0
+ * @since 2026/10/18
+ */
+class RegisterExtension {
+    static final String NAME = 'arouter'
+
+    /**
+     * Register by class name, the classes will be created by reflection at runtime.
+     * It generates less code into LogisticsCenter, and won't reference the generated classes,
+     * use it when the size of main dex is constrained.
+     * Default is false, register by direct constructor calls.
+     */
+    boolean registerByName = false
+}
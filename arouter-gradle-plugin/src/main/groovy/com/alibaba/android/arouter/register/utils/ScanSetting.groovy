@@ -22,10 +22,30 @@ class ScanSetting {
      * The package name of the class generated by the annotationProcessor
      */
     static final String ROUTER_CLASS_PACKAGE_NAME = 'com/alibaba/android/arouter/routes/'
+    /**
+     * The route manifest fragment generated by the annotationProcessor, in package {@link #ROUTER_CLASS_PACKAGE_NAME}
+     */
+    static final String ROUTE_MANIFEST_SUFFIX = '.arm'
+    /**
+     * The merged route manifest, path in assets
+     */
+    static final String ROUTE_MANIFEST_ASSET = 'arouter/route-manifest.arm'
+    /**
+     * The interceptor chain of the whole app, generated into the jar file which contains {@link #GENERATE_TO_CLASS_NAME}
+     */
+    static final String INTERCEPTOR_CHAIN_CLASS_NAME = ROUTER_CLASS_PACKAGE_NAME + 'ARouter$$InterceptorChain'
+    /**
+     * The interceptors are collected from this method of interceptor groups
+     */
+    static final String INTERCEPTOR_GROUP_METHOD_NAME = 'loadInto'
     /**
      * The package name of the interfaces
      */
     private static final INTERFACE_PACKAGE_NAME = 'com/alibaba/android/arouter/facade/template/'
+    /**
+     * Interface of interceptor group
+     */
+    static final String INTERCEPTOR_GROUP_INTERFACE_NAME = INTERFACE_PACKAGE_NAME + 'IInterceptorGroup'
 
     /**
      * register method name in class: {@link #GENERATE_TO_CLASS_NAME}
@@ -35,6 +55,10 @@ class ScanSetting {
      * scan for classes which implements this interface
      */
     String interfaceName = ''
+    /**
+     * register method name in class: {@link #GENERATE_TO_CLASS_NAME}, which accepts instance of {@link #interfaceName}
+     */
+    String registerMethodName = ''
 
     /**
      * jar file which contains class: {@link #GENERATE_TO_CLASS_NAME}
@@ -49,9 +73,18 @@ class ScanSetting {
     /**
      * constructor for arouter-auto-register settings
      * @param interfaceName interface to scan
+     * @param registerMethodName method to register instance of interface
      */
-    ScanSetting(String interfaceName){
+    ScanSetting(String interfaceName, String registerMethodName){
         this.interfaceName = INTERFACE_PACKAGE_NAME + interfaceName
+        this.registerMethodName = registerMethodName
+    }
+
+    /**
+     * descriptor of {@link #registerMethodName}
+     */
+    String getRegisterMethodDesc() {
+        return '(L' + interfaceName + ';)V'
     }
 
 }
\ No newline at end of file
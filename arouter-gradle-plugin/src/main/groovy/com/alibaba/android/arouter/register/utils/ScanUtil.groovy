@@ -4,6 +4,7 @@ import com.alibaba.android.arouter.register.core.RegisterTransform
 import org.objectweb.asm.ClassReader
 import org.objectweb.asm.ClassVisitor
 import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.MethodVisitor
 import org.objectweb.asm.Opcodes
 
 import java.util.jar.JarEntry
@@ -11,7 +12,7 @@ import java.util.jar.JarFile
 
 /**
  * Scan all class in the package: com/alibaba/android/arouter/
- * find out all routers,interceptors and providers
+ * find out all routers,interceptors and providers, and collect interceptors for the interceptor chain
  * @author billy.qi email: qiyilike@163.com
  * @since 17/3/20 11:48
  */
@@ -31,7 +32,11 @@ class ScanUtil {
                 String entryName = jarEntry.getName()
                 if (entryName.startsWith(ScanSetting.ROUTER_CLASS_PACKAGE_NAME)) {
                     InputStream inputStream = file.getInputStream(jarEntry)
-                    scanClass(inputStream)
+                    if (isRouteManifest(entryName)) {
+                        RegisterTransform.manifestMerger.add(entryName, inputStream.bytes)
+                    } else {
+                        scanClass(inputStream)
+                    }
                     inputStream.close()
                 } else if (ScanSetting.GENERATE_TO_CLASS_FILE_NAME == entryName) {
                     // mark this jar file contains LogisticsCenter.class
@@ -51,6 +56,18 @@ class ScanUtil {
         return entryName != null && entryName.startsWith(ScanSetting.ROUTER_CLASS_PACKAGE_NAME)
     }
 
+    static boolean isRouteManifest(String entryName) {
+        return entryName.endsWith(ScanSetting.ROUTE_MANIFEST_SUFFIX)
+    }
+
+    /**
+     * scan route manifest fragment
+     * @param manifest fragment file
+     */
+    static void scanManifest(File file) {
+        RegisterTransform.manifestMerger.add(file.name, file.bytes)
+    }
+
     /**
      * scan class file
      * @param class file
@@ -68,6 +85,8 @@ class ScanUtil {
     }
 
     static class ScanClassVisitor extends ClassVisitor {
+        private String className
+        private boolean interceptorGroup
 
         ScanClassVisitor(int api, ClassVisitor cv) {
             super(api, cv)
@@ -76,6 +95,8 @@ class ScanUtil {
         void visit(int version, int access, String name, String signature,
                    String superName, String[] interfaces) {
             super.visit(version, access, name, signature, superName, interfaces)
+            className = name
+            interceptorGroup = interfaces != null && interfaces.contains(ScanSetting.INTERCEPTOR_GROUP_INTERFACE_NAME)
             RegisterTransform.registerList.each { ext ->
                 if (ext.interfaceName && interfaces != null) {
                     interfaces.each { itName ->
@@ -89,6 +110,17 @@ class ScanUtil {
                 }
             }
         }
+
+        @Override
+        MethodVisitor visitMethod(int access, String name, String desc,
+                                  String signature, String[] exceptions) {
+            MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions)
+            // collect interceptors for the interceptor chain
+            if (interceptorGroup && name == ScanSetting.INTERCEPTOR_GROUP_METHOD_NAME) {
+                mv = RegisterTransform.interceptorChainGenerator.collectFrom(className, mv)
+            }
+            return mv
+        }
     }
 
 }
\ No newline at end of file